@@ -0,0 +1,50 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.Board;
+import scheduler.Item;
+import scheduler.ProjectResource;
+import scheduler.Ticks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"1000", "10000"})
+    int itemCount;
+
+    @Param({"10", "100"})
+    int resourceCount;
+
+    @Param({"0.5", "1"})
+    float dependencyDensity;
+
+    SyntheticModel model;
+    Board board;
+    int next = 0;
+
+    @Setup
+    public void setUp() {
+        model = new SyntheticModel(itemCount, resourceCount, dependencyDensity, 1.0f, 42);
+        board = new Board(model.items, model.resources);
+    }
+
+    @Benchmark
+    public List<Board.Allocation> getIndependentTodo() {
+        return board.getIndependentTodo();
+    }
+
+    @Benchmark
+    public List<ProjectResource> getSortedFreeResources() {
+        Item item = model.items.get(next++ % itemCount);
+        return board.getSortedFreeResourcesForTicks(item, Ticks.PER_UNIT);
+    }
+
+}
@@ -0,0 +1,64 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.Item;
+import scheduler.Prioritizer;
+import scheduler.ReachabilityIndex;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemGraphBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"1000", "10000"})
+    int itemCount;
+
+    @Param({"0.5", "1"})
+    float dependencyDensity;
+
+    @Param({"false", "true"})
+    boolean frozen;
+
+    SyntheticModel model;
+    Item[] from = new Item[PAIRS];
+    Item[] to = new Item[PAIRS];
+    int next = 0;
+
+    @Setup
+    public void setUp() {
+        model = new SyntheticModel(itemCount, 0, dependencyDensity, 1.0f, 42);
+        if (frozen)
+            ReachabilityIndex.freeze(model.items);
+        Random random = new Random(7);
+        for (int i = 0; i < PAIRS; ++i) {
+            from[i] = model.items.get(random.nextInt(itemCount));
+            to[i] = model.items.get(random.nextInt(itemCount));
+        }
+    }
+
+    @Benchmark
+    public boolean isDependentFrom() {
+        int i = next++ & (PAIRS - 1);
+        return from[i].isDependentFrom(to[i]);
+    }
+
+    @Benchmark
+    public Float getTotalDependentSize() {
+        return from[next++ & (PAIRS - 1)].getTotalDependentSize();
+    }
+
+    @Benchmark
+    public Collection<Collection<Item>> prioritize() {
+        return new Prioritizer().prioritize(model.items);
+    }
+
+}
@@ -0,0 +1,86 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.infrastructure.CsvMatrixReader;
+import scheduler.infrastructure.ExcelMatrixWriter;
+import scheduler.infrastructure.MappedCsvMatrixReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixIoBenchmark {
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    @Param({"10", "100"})
+    int columns;
+
+    String csv;
+    List<List<String>> matrix;
+    Path input;
+    Path output;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        matrix = new ArrayList<>();
+        for (int r = 0; r < rows; ++r) {
+            List<String> row = new ArrayList<>();
+            for (int c = 0; c < columns; ++c) {
+                String value = c == 0 ? "item" + r : Integer.toString(r * c % 97);
+                row.add(value);
+                builder.append(c == 0 ? "" : ",").append(value);
+            }
+            builder.append("\r\n");
+            matrix.add(row);
+        }
+        csv = builder.toString();
+        input = Files.createTempFile("benchmark", ".csv");
+        Files.write(input, csv.getBytes(StandardCharsets.UTF_8));
+        output = Files.createTempFile("benchmark", ".xlsx");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public List<List<String>> readCsv() {
+        return new CsvMatrixReader(new StringReader(csv)).read();
+    }
+
+    @Benchmark
+    public List<List<String>> readMappedCsv() {
+        return new MappedCsvMatrixReader(input).read();
+    }
+
+    @Benchmark
+    public void writeExcel() {
+        ExcelMatrixWriter writer = new ExcelMatrixWriter(output);
+        writer.addSection("Results", "Matrix", matrix);
+        writer.write();
+    }
+
+    @Benchmark
+    public void writeExcelStreaming() {
+        ExcelMatrixWriter writer = ExcelMatrixWriter.streaming(output);
+        writer.addSection("Results", "Matrix", matrix);
+        writer.write();
+    }
+
+}
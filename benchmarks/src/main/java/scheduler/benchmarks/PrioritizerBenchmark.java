@@ -0,0 +1,58 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.Item;
+import scheduler.Prioritizer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrioritizerBenchmark {
+
+    private static final int BRANCHING = 4;
+    private static final int DEPENDENCY_WINDOW = 64;
+
+    @Param({"1000", "10000"})
+    int itemCount;
+
+    @Param({"0.5", "1"})
+    float dependencyDensity;
+
+    List<Item> items = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Item> leaves = new ArrayList<>();
+        for (int i = 0; i < itemCount; ++i) {
+            Item item = new Item("item" + i);
+            if (i > 0)
+                items.get((i - 1) / BRANCHING).addChild(item);
+            items.add(item);
+        }
+        for (Item item : items)
+            if (item.getChildren().isEmpty())
+                leaves.add(item);
+        for (int i = 1; i < leaves.size(); ++i) {
+            int dependencies = (int) dependencyDensity + (random.nextFloat() < dependencyDensity % 1 ? 1 : 0);
+            for (int d = 0; d < dependencies; ++d) {
+                Item dependency = leaves.get(i - 1 - random.nextInt(Math.min(i, DEPENDENCY_WINDOW)));
+                if (!leaves.get(i).getDependencies().contains(dependency))
+                    leaves.get(i).addDependency(dependency);
+            }
+        }
+        Collections.shuffle(items, random);
+    }
+
+    @Benchmark
+    public Collection<Collection<Item>> prioritize() {
+        return new Prioritizer().prioritize(items);
+    }
+
+}
@@ -0,0 +1,44 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.Item;
+import scheduler.ProjectResource;
+import scheduler.Ticks;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectResourceBenchmark {
+
+    @Param({"1000", "10000"})
+    int itemCount;
+
+    @Param({"0.1", "1"})
+    float resolution;
+
+    SyntheticModel model;
+    ProjectResource resource;
+    long tick = 0;
+    long resolutionTicks;
+    int next = 0;
+
+    @Setup
+    public void setUp() {
+        model = new SyntheticModel(itemCount, 1, 0.0f, resolution, 42);
+        resource = model.resources.get(0);
+        resolutionTicks = Ticks.of(resolution);
+    }
+
+    @Benchmark
+    public float getTickCapacity() {
+        Item item = model.items.get(next++ % itemCount);
+        tick = tick > itemCount * resolutionTicks ? 0 : tick + resolutionTicks;
+        return resource.getTickCapacity(item, tick, resolutionTicks);
+    }
+
+}
@@ -0,0 +1,44 @@
+package scheduler.benchmarks;
+
+import scheduler.Interruptions;
+import scheduler.Item;
+import scheduler.ProjectResource;
+import scheduler.capacity.CapacityCalculator;
+import scheduler.capacity.CapacityProvider;
+import scheduler.capacity.NameContainsProvider;
+
+import java.util.*;
+
+class SyntheticModel {
+
+    static final int SKILLS = 8;
+    private static final int DEPENDENCY_WINDOW = 64;
+
+    final List<Item> items = new ArrayList<>();
+    final List<ProjectResource> resources = new ArrayList<>();
+
+    SyntheticModel(int itemCount, int resourceCount, float dependencyDensity, float resolution, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < itemCount; ++i) {
+            float size = resolution * (1 + random.nextInt(10));
+            Item item = new Item("item" + i, new Item.Parameters("skill" + random.nextInt(SKILLS), size, 1 + random.nextInt(2)));
+            int dependencies = (int) dependencyDensity + (random.nextFloat() < dependencyDensity % 1 ? 1 : 0);
+            for (int d = 0; d < dependencies && i > 0; ++d) {
+                Item dependency = items.get(i - 1 - random.nextInt(Math.min(i, DEPENDENCY_WINDOW)));
+                if (!item.getDependencies().contains(dependency))
+                    item.addDependency(dependency);
+            }
+            items.add(item);
+        }
+        for (int r = 0; r < resourceCount; ++r) {
+            List<CapacityProvider> providers = new ArrayList<>();
+            providers.add(new NameContainsProvider("skill" + r % SKILLS, 1.0f));
+            providers.add(new NameContainsProvider("skill" + random.nextInt(SKILLS), 0.5f));
+            Interruptions.Builder interruptions = new Interruptions.Builder();
+            for (float start = random.nextInt(50); start < itemCount * 10 * resolution; start += 20 + random.nextInt(50))
+                interruptions.add(start, start + 1 + random.nextInt(5));
+            resources.add(new ProjectResource("resource" + r, new CapacityCalculator(providers), interruptions.build()));
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package scheduler.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import scheduler.Item;
+import scheduler.Prioritizer;
+import scheduler.TimelineFactory;
+import scheduler.WorkPackage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimelineFactoryBenchmark {
+
+    @Param({"100", "1000"})
+    int itemCount;
+
+    @Param({"10", "50"})
+    int resourceCount;
+
+    @Param({"0.5", "1"})
+    float dependencyDensity;
+
+    @Param({"0.1", "1"})
+    float resolution;
+
+    @Param({"false", "true"})
+    boolean eventDriven;
+
+    SyntheticModel model;
+    Collection<Collection<Item>> prioritizedItems;
+
+    @Setup
+    public void setUp() {
+        model = new SyntheticModel(itemCount, resourceCount, dependencyDensity, resolution, 42);
+        prioritizedItems = new Prioritizer().prioritize(model.items);
+    }
+
+    @Benchmark
+    public List<List<WorkPackage>> create() {
+        TimelineFactory factory = new TimelineFactory(resolution, model.resources);
+        factory.setEventDriven(eventDriven);
+        return factory.create(prioritizedItems);
+    }
+
+}
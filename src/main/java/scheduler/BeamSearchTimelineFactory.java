@@ -0,0 +1,98 @@
+package scheduler;
+
+import lombok.Setter;
+import lombok.val;
+
+import java.util.*;
+
+public class BeamSearchTimelineFactory extends TimelineFactory {
+
+    @Setter private int beamWidth = 4;
+    @Setter private int branching = 3;
+
+    private static class Frame {
+        final Frame previous;
+        final List<WorkPackage> workPackages;
+
+        Frame(Frame previous, List<WorkPackage> workPackages) {
+            this.previous = previous;
+            this.workPackages = workPackages;
+        }
+    }
+
+    private static class State {
+        final Board board;
+        final ActivityGuard activityGuard;
+        final Frame frame;
+        final float remainingWork;
+
+        State(Board board, ActivityGuard activityGuard, Frame frame) {
+            this.board = board;
+            this.activityGuard = activityGuard;
+            this.frame = frame;
+            remainingWork = board.getRemainingWork();
+        }
+    }
+
+    public BeamSearchTimelineFactory(float resolution, Collection<ProjectResource> resources) {
+        super(resolution, resources);
+    }
+
+    @Override
+    public void create(Collection<Collection<Item>> prioritizedGroups, TimelineSink sink) {
+        List<State> beam = Collections.singletonList(new State(createBoard(prioritizedGroups), new ActivityGuard(), null));
+        while (true) {
+            for (val state : beam) {
+                if (state.board.isFinished()) {
+                    replay(state.frame, sink);
+                    return;
+                }
+            }
+            beam = expand(beam);
+        }
+    }
+
+    private List<State> expand(List<State> beam) {
+        List<State> candidates = new ArrayList<>();
+        RuntimeException failure = null;
+        for (val state : beam) {
+            for (val board : branch(state.board)) {
+                val workPackages = increaseTime(board, 1);
+                val activityGuard = new ActivityGuard(state.activityGuard);
+                try {
+                    activityGuard.update(workPackages);
+                }
+                catch (ExceededMaxInactivityException e) {
+                    failure = e;
+                    continue;
+                }
+                candidates.add(new State(board, activityGuard, new Frame(state.frame, workPackages)));
+            }
+        }
+        if (candidates.isEmpty())
+            throw failure;
+        candidates.sort(Comparator.comparingDouble((State s) -> s.remainingWork));
+        return candidates.subList(0, Math.min(beamWidth, candidates.size()));
+    }
+
+    private List<Board> branch(Board board) {
+        val choices = Math.max(1, Math.min(branching, board.getIndependentTodo().size()));
+        List<Board> result = new ArrayList<>();
+        for (int choice = 0; choice < choices; ++choice) {
+            val fork = board.fork();
+            dispatch(fork, choice);
+            if (result.stream().noneMatch(fork::isOccupiedAs))
+                result.add(fork);
+        }
+        return result;
+    }
+
+    private static void replay(Frame last, TimelineSink sink) {
+        Deque<List<WorkPackage>> frames = new ArrayDeque<>();
+        for (Frame frame = last; frame != null; frame = frame.previous)
+            frames.push(frame.workPackages);
+        for (val workPackages : frames)
+            sink.accept(workPackages, 1);
+    }
+
+}
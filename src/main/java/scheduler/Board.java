@@ -1,32 +1,56 @@
 package scheduler;
 
-import javafx.util.Pair;
 import lombok.*;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
-@Data
 public class Board {
 
     @Getter
-    @ToString
+    @ToString(of = {"item", "todo", "assignedResources"})
     public static class Allocation {
         Item item;
-        float todo;
+        @Getter(AccessLevel.NONE) long todo;
+        @Getter(AccessLevel.NONE) double workDone;
         List<ProjectResource> assignedResources;
+        float impact;
+        @Getter(AccessLevel.NONE) long rank;
+        @Getter(AccessLevel.NONE) int index = -1;
 
         private Allocation(Item item) {
             this.item = item;
-            todo = item.getParameters().getSize();
+            todo = Ticks.of(item.getParameters().getSize());
             assignedResources = new ArrayList<>();
         }
+
+        private Allocation(Allocation other) {
+            item = other.item;
+            todo = other.todo;
+            workDone = other.workDone;
+            assignedResources = new ArrayList<>(other.assignedResources);
+            impact = other.impact;
+            rank = other.rank;
+            index = other.index;
+        }
+
+        public float getTodo() {
+            return (float) Ticks.toTime(todo);
+        }
+
+        public long getTodoTicks() {
+            return todo;
+        }
     }
 
     public static class InvalidDeltaException extends RuntimeException {
-        public InvalidDeltaException(float delta) {
-            super(Float.toString(delta));
+        public InvalidDeltaException(long deltaTicks) {
+            super(Long.toString(deltaTicks));
+        }
+    }
+
+    public static class InvalidFramesException extends RuntimeException {
+        public InvalidFramesException(int frames) {
+            super(Integer.toString(frames));
         }
     }
 
@@ -54,104 +78,337 @@ public class Board {
         }
     }
 
-    private Map<ProjectResource, Optional<Allocation>> occupations;
-    private Deque<Allocation> todo = new ArrayDeque<>();
-    private List<Allocation> ongoing = new ArrayList<>();
-    private List<Allocation> done = new ArrayList<>();
-    private float time = 0.0f;
+    private static class IndexList {
+        final int[] previous;
+        final int[] next;
+        int head = -1;
+        int tail = -1;
+        int size = 0;
+
+        IndexList(int capacity) {
+            previous = new int[capacity];
+            next = new int[capacity];
+        }
+
+        IndexList(IndexList other) {
+            previous = other.previous.clone();
+            next = other.next.clone();
+            head = other.head;
+            tail = other.tail;
+            size = other.size;
+        }
+
+        void addFirst(int index) {
+            previous[index] = -1;
+            next[index] = head;
+            if (head >= 0)
+                previous[head] = index;
+            else
+                tail = index;
+            head = index;
+            size++;
+        }
+
+        void addLast(int index) {
+            next[index] = -1;
+            previous[index] = tail;
+            if (tail >= 0)
+                next[tail] = index;
+            else
+                head = index;
+            tail = index;
+            size++;
+        }
+
+        void remove(int index) {
+            if (previous[index] >= 0)
+                next[previous[index]] = next[index];
+            else
+                head = next[index];
+            if (next[index] >= 0)
+                previous[next[index]] = previous[index];
+            else
+                tail = previous[index];
+            size--;
+        }
+    }
+
+    private static final byte TODO = 0;
+    private static final byte ONGOING = 1;
+    private static final byte DONE = 2;
+    private static final int FREE = -1;
+
+    private static final Comparator<Allocation> BY_IMPACT = Comparator
+            .comparingDouble((Allocation a) -> -a.impact)
+            .thenComparingLong(a -> a.rank);
+
+    private final Allocation[] allocations;
+    private final byte[] states;
+    private final IndexList todo;
+    private final IndexList ongoing;
+    private final List<Allocation> done;
+    private final ProjectResource[] resources;
+    private final Map<ProjectResource, Integer> resourceIndexes;
+    private final int[] occupations;
+    private final Map<Item, int[]> eligibleResources;
+    @Getter @Setter private long ticks = 0;
+    private final ReadinessTracker readinessTracker;
+    private final NavigableSet<Allocation> independentTodo = new TreeSet<>(BY_IMPACT);
+    private final NavigableSet<Allocation> spareOngoing = new TreeSet<>(BY_IMPACT);
+    private long frontRank = 0;
+    private long backRank = 0;
 
     public Board(Collection<Item> items, Collection<ProjectResource> resources) {
-        this.todo.addAll(items.stream().map(Allocation::new).collect(Collectors.toList()));
-        this.occupations = resources.stream().collect(Collectors.toMap(Function.identity(), r -> Optional.empty()));
+        this(items, resources, DispatchPlan.DEFAULT);
     }
 
-    public List<Allocation> getIndependentTodo() {
-        return todo.stream()
-                .filter(this::isIndependent)
-                .collect(Collectors.toList());
+    public Board(Collection<Item> items, Collection<ProjectResource> resources, DispatchPlan dispatchPlan) {
+        List<Item> itemList = new ArrayList<>(items);
+        done = new ArrayList<>();
+        resourceIndexes = new HashMap<>();
+        eligibleResources = new IdentityHashMap<>();
+        allocations = new Allocation[itemList.size()];
+        states = new byte[itemList.size()];
+        todo = new IndexList(itemList.size());
+        ongoing = new IndexList(itemList.size());
+        readinessTracker = new ReadinessTracker(itemList);
+        val impacts = ImpactScores.calculate(itemList);
+        for (int i = 0; i < allocations.length; ++i) {
+            val allocation = new Allocation(itemList.get(i));
+            allocation.index = i;
+            allocation.impact = impacts.get(allocation.item) + dispatchPlan.getPriority(allocation.item);
+            allocation.rank = backRank++;
+            allocations[i] = allocation;
+            todo.addLast(i);
+            if (readinessTracker.isReady(i))
+                independentTodo.add(allocation);
+        }
+        this.resources = resources.toArray(new ProjectResource[0]);
+        occupations = new int[this.resources.length];
+        Arrays.fill(occupations, FREE);
+        for (int i = 0; i < this.resources.length; ++i)
+            resourceIndexes.put(this.resources[i], i);
+        for (val allocation : allocations)
+            eligibleResources.put(allocation.item, findEligibleResources(allocation.item));
+    }
+
+    private Board(Board other) {
+        allocations = new Allocation[other.allocations.length];
+        for (int i = 0; i < allocations.length; ++i)
+            allocations[i] = other.states[i] == DONE ? other.allocations[i] : new Allocation(other.allocations[i]);
+        states = other.states.clone();
+        todo = new IndexList(other.todo);
+        ongoing = new IndexList(other.ongoing);
+        done = new ArrayList<>(other.done);
+        resources = other.resources;
+        resourceIndexes = other.resourceIndexes;
+        occupations = other.occupations.clone();
+        eligibleResources = other.eligibleResources;
+        ticks = other.ticks;
+        readinessTracker = other.readinessTracker.fork();
+        for (val allocation : other.independentTodo)
+            independentTodo.add(allocations[allocation.index]);
+        for (val allocation : other.spareOngoing)
+            spareOngoing.add(allocations[allocation.index]);
+        frontRank = other.frontRank;
+        backRank = other.backRank;
+    }
+
+    public Board fork() {
+        return new Board(this);
+    }
+
+    public Deque<Allocation> getTodo() {
+        Deque<Allocation> result = new ArrayDeque<>(todo.size);
+        for (int i = todo.head; i >= 0; i = todo.next[i])
+            result.add(allocations[i]);
+        return result;
+    }
+
+    public List<Allocation> getOngoing() {
+        List<Allocation> result = new ArrayList<>(ongoing.size);
+        for (int i = ongoing.head; i >= 0; i = ongoing.next[i])
+            result.add(allocations[i]);
+        return result;
     }
 
-    private boolean isIndependent(Allocation allocation) {
-        return todo.stream().noneMatch(a -> allocation.item.isDependentFrom(a.item))
-            && ongoing.stream().noneMatch(a -> allocation.item.isDependentFrom(a.item));
+    public List<Allocation> getDone() {
+        return Collections.unmodifiableList(done);
+    }
+
+    public Map<ProjectResource, Optional<Allocation>> getOccupations() {
+        Map<ProjectResource, Optional<Allocation>> result = new LinkedHashMap<>();
+        for (int i = 0; i < resources.length; ++i)
+            result.put(resources[i], occupations[i] == FREE ? Optional.empty() : Optional.of(allocations[occupations[i]]));
+        return result;
+    }
+
+    public boolean isFinished() {
+        return todo.size == 0 && ongoing.size == 0;
+    }
+
+    public float getRemainingWork() {
+        long result = 0;
+        for (int i = todo.head; i >= 0; i = todo.next[i])
+            result += allocations[i].todo;
+        for (int i = ongoing.head; i >= 0; i = ongoing.next[i])
+            result += allocations[i].todo;
+        return (float) Ticks.toTime(result);
+    }
+
+    boolean isOccupiedAs(Board other) {
+        return Arrays.equals(occupations, other.occupations);
+    }
+
+    public List<Allocation> getIndependentTodo() {
+        return new ArrayList<>(independentTodo);
     }
 
     public List<Allocation> getSpareOngoing() {
-        return ongoing.stream()
-                .filter(a -> a.assignedResources.size() < a.item.getParameters().getThreads())
-                .collect(Collectors.toList());
+        return new ArrayList<>(spareOngoing);
     }
 
-    public List<ProjectResource> getSortedFreeResources(Item item, float delta) {
-        val result = occupations.entrySet().stream()
-                .filter(e -> !e.getValue().isPresent())
-                .map(e -> new Pair<>(e.getKey(), e.getKey().getCapacity(item, time, delta)))
-                .filter(e -> e.getValue() > 0)
-                .collect(Collectors.toList());
-        Collections.sort(result, (a, b) -> Float.compare(b.getValue(), a.getValue()));
-        return result.stream()
-                .map(Pair::getKey)
-                .collect(Collectors.toList());
+    private void updateSpareOngoing(Allocation allocation) {
+        if (allocation.assignedResources.size() < allocation.item.getParameters().getThreads())
+            spareOngoing.add(allocation);
+        else
+            spareOngoing.remove(allocation);
     }
 
-    public void allocate(Allocation allocation, ProjectResource resource) {
-        if (!occupations.containsKey(resource))
+    private int[] getEligibleResources(Item item) {
+        val result = eligibleResources.get(item);
+        return result != null ? result : findEligibleResources(item);
+    }
+
+    private int[] findEligibleResources(Item item) {
+        long[] candidates = new long[resources.length];
+        int count = 0;
+        for (int i = 0; i < resources.length; ++i) {
+            val rate = resources[i].getRate(item);
+            if (rate > 0)
+                candidates[count++] = (long) (Integer.MAX_VALUE - Float.floatToIntBits(rate)) << 32 | i;
+        }
+        Arrays.sort(candidates, 0, count);
+        int[] result = new int[count];
+        for (int i = 0; i < count; ++i)
+            result[i] = (int) candidates[i];
+        return result;
+    }
+
+    public List<ProjectResource> getSortedFreeResourcesForTicks(Item item, long deltaTicks) {
+        val eligible = getEligibleResources(item);
+        ProjectResource[] result = new ProjectResource[eligible.length];
+        float[] capacities = new float[eligible.length];
+        int count = 0;
+        for (val index : eligible) {
+            if (occupations[index] != FREE)
+                continue;
+            val capacity = resources[index].getTickCapacity(item, ticks, deltaTicks);
+            if (capacity <= 0)
+                continue;
+            int position = count++;
+            while (position > 0 && capacities[position - 1] < capacity) {
+                capacities[position] = capacities[position - 1];
+                result[position] = result[position - 1];
+                position--;
+            }
+            capacities[position] = capacity;
+            result[position] = resources[index];
+        }
+        return Arrays.asList(result).subList(0, count);
+    }
+
+    private int indexOf(ProjectResource resource) {
+        val result = resourceIndexes.get(resource);
+        if (result == null)
             throw new UnknownResourceException(resource);
+        return result;
+    }
+
+    private byte stateOf(Allocation allocation) {
+        val index = allocation.index;
+        if (index < 0 || index >= allocations.length || allocations[index] != allocation)
+            return DONE;
+        return states[index];
+    }
+
+    public void allocate(Allocation allocation, ProjectResource resource) {
+        val resourceIndex = indexOf(resource);
         if (allocation.assignedResources.size() >= allocation.item.getParameters().getThreads())
             throw new OverflowingAllocationException(allocation, resource);
-        if (todo.remove(allocation))
-            ongoing.add(allocation);
-        else if (!ongoing.contains(allocation))
+        val state = stateOf(allocation);
+        if (state == TODO) {
+            todo.remove(allocation.index);
+            independentTodo.remove(allocation);
+            allocation.rank = backRank++;
+            ongoing.addLast(allocation.index);
+            states[allocation.index] = ONGOING;
+        }
+        else if (state != ONGOING)
             throw new InvalidAllocationException(allocation);
         else if (allocation.assignedResources.contains(resource))
             throw new ResourceAlreadyAssignedException(resource);
         allocation.assignedResources.add(resource);
-        occupations.put(resource, Optional.of(allocation));
+        occupations[resourceIndex] = allocation.index;
+        updateSpareOngoing(allocation);
     }
 
     public void deallocate(Allocation allocation, ProjectResource resource) {
-        if (!occupations.containsKey(resource))
-            throw new UnknownResourceException(resource);
-        if (!ongoing.contains(allocation))
+        val resourceIndex = indexOf(resource);
+        if (stateOf(allocation) != ONGOING)
             throw new InvalidAllocationException(allocation);
         allocation.assignedResources.remove(resource);
-        occupations.put(resource, Optional.empty());
+        occupations[resourceIndex] = FREE;
+        updateSpareOngoing(allocation);
         if (allocation.assignedResources.isEmpty()) {
-            ongoing.remove(allocation);
-            todo.addFirst(allocation);
+            spareOngoing.remove(allocation);
+            ongoing.remove(allocation.index);
+            todo.addFirst(allocation.index);
+            states[allocation.index] = TODO;
+            allocation.rank = --frontRank;
+            if (readinessTracker.isReady(allocation.index))
+                independentTodo.add(allocation);
         }
     }
 
-    public List<WorkPackage> increaseTime(float delta) {
-        if (delta <= 0)
-            throw new InvalidDeltaException(delta);
+    public List<WorkPackage> increaseTicks(long deltaTicks, int frames) {
+        if (deltaTicks <= 0)
+            throw new InvalidDeltaException(deltaTicks);
+        if (frames <= 0)
+            throw new InvalidFramesException(frames);
         List<WorkPackage> result = new ArrayList<>();
-        val it = ongoing.listIterator();
-        while (it.hasNext()) {
-            val allocation = it.next();
-            val workPackages = getPackagesForAssignedResources(allocation, delta);
-            allocation.todo -= sumWorkDone(workPackages);
-            result.addAll(workPackages);
-            if (allocation.todo <= 0) {
-                it.remove();
-                done.add(allocation);
-                for (val resource : allocation.assignedResources)
-                    occupations.put(resource, Optional.empty());
-                allocation.assignedResources.clear();
+        int index = ongoing.head;
+        while (index >= 0) {
+            val next = ongoing.next[index];
+            val allocation = allocations[index];
+            double workDone = 0.0;
+            for (val resource : allocation.assignedResources) {
+                val capacity = resource.getTickCapacity(allocation.item, ticks, deltaTicks);
+                result.add(new WorkPackage(resource, allocation.item, capacity));
+                workDone += capacity;
             }
+            allocation.workDone += frames * workDone;
+            allocation.todo = Ticks.of(allocation.item.getParameters().getSize()) - Ticks.of(allocation.workDone);
+            if (allocation.todo <= 0)
+                markDone(allocation);
+            index = next;
         }
-        time += delta;
+        ticks = Math.addExact(ticks, Math.multiplyExact(deltaTicks, frames));
         return result;
     }
 
-    private List<WorkPackage> getPackagesForAssignedResources(Allocation allocation, float delta) {
-        return allocation.assignedResources.stream()
-                .map(r -> new WorkPackage(r, allocation.item, r.getCapacity(allocation.item, time, delta)))
-                .collect(Collectors.toList());
-    }
-
-    private static float sumWorkDone(List<WorkPackage> workPackages) {
-        return (float) workPackages.stream().mapToDouble(WorkPackage::getWorkDone).sum();
+    private void markDone(Allocation allocation) {
+        ongoing.remove(allocation.index);
+        spareOngoing.remove(allocation);
+        states[allocation.index] = DONE;
+        done.add(allocation);
+        for (val resource : allocation.assignedResources)
+            occupations[resourceIndexes.get(resource)] = FREE;
+        allocation.assignedResources.clear();
+        readinessTracker.complete(allocation.index, ready -> {
+            if (states[ready] == TODO)
+                independentTodo.add(allocations[ready]);
+        });
     }
 
 }
@@ -0,0 +1,39 @@
+package scheduler;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class DispatchPlan {
+
+    public static final DispatchPlan DEFAULT = new DispatchPlan(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<Item, Float> priorities;
+    private final Map<Item, ProjectResource> preferredResources;
+
+    private DispatchPlan(Map<Item, Float> priorities, Map<Item, ProjectResource> preferredResources) {
+        this.priorities = priorities;
+        this.preferredResources = preferredResources;
+    }
+
+    public float getPriority(Item item) {
+        return priorities.getOrDefault(item, 0.0f);
+    }
+
+    public ProjectResource getPreferredResource(Item item) {
+        return preferredResources.get(item);
+    }
+
+    public DispatchPlan withPriority(Item item, float priority) {
+        Map<Item, Float> result = new IdentityHashMap<>(priorities);
+        result.put(item, priority);
+        return new DispatchPlan(result, preferredResources);
+    }
+
+    public DispatchPlan withPreferredResource(Item item, ProjectResource resource) {
+        Map<Item, ProjectResource> result = new IdentityHashMap<>(preferredResources);
+        result.put(item, resource);
+        return new DispatchPlan(priorities, result);
+    }
+
+}
@@ -0,0 +1,30 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.*;
+
+class ImpactScores {
+
+    static Map<Item, Float> calculate(Collection<Item> items) {
+        Map<Item, Double> downstream = new IdentityHashMap<>();
+        for (val item : ItemGraph.postOrder(items, ItemGraph::impactedAndChildren))
+            downstream.put(item, sum(ItemGraph.impactedAndChildren(item), downstream));
+        Map<Item, Float> result = new IdentityHashMap<>();
+        for (val item : items)
+            result.put(item, (float) sum(item.getImpacted(), downstream));
+        return result;
+    }
+
+    private static double sum(List<Item> items, Map<Item, Double> downstream) {
+        double result = 0.0;
+        for (val item : items) {
+            val size = item.getParameters().getSize();
+            if (size != null)
+                result += size;
+            result += downstream.get(item);
+        }
+        return result;
+    }
+
+}
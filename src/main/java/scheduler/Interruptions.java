@@ -0,0 +1,128 @@
+package scheduler;
+
+import javafx.util.Pair;
+import lombok.EqualsAndHashCode;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.List;
+
+@EqualsAndHashCode(of = {"startTicks", "endTicks"})
+public class Interruptions {
+
+    public static final Interruptions NONE = new Interruptions(new long[0], new long[0]);
+
+    private final long[] startTicks;
+    private final long[] endTicks;
+    private final long[] interruptedTicksBefore;
+
+    public static class Builder {
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int size = 0;
+
+        public Builder add(float start, float end) {
+            return addTicks(Ticks.of(start), Ticks.of(end));
+        }
+
+        public Builder addTicks(long start, long end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            return this;
+        }
+
+        public Interruptions build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; ++i)
+                order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+            long[] mergedStarts = new long[size];
+            long[] mergedEnds = new long[size];
+            int count = 0;
+            for (val i : order) {
+                if (ends[i] <= starts[i])
+                    continue;
+                if (count > 0 && starts[i] <= mergedEnds[count - 1])
+                    mergedEnds[count - 1] = Math.max(mergedEnds[count - 1], ends[i]);
+                else {
+                    mergedStarts[count] = starts[i];
+                    mergedEnds[count] = ends[i];
+                    count++;
+                }
+            }
+            return new Interruptions(Arrays.copyOf(mergedStarts, count), Arrays.copyOf(mergedEnds, count));
+        }
+    }
+
+    private Interruptions(long[] startTicks, long[] endTicks) {
+        this.startTicks = startTicks;
+        this.endTicks = endTicks;
+        interruptedTicksBefore = new long[startTicks.length + 1];
+        for (int i = 0; i < startTicks.length; ++i)
+            interruptedTicksBefore[i + 1] = interruptedTicksBefore[i] + (endTicks[i] - startTicks[i]);
+    }
+
+    public static Interruptions of(List<Pair<Float, Float>> interruptions) {
+        val builder = new Builder();
+        for (val interruption : interruptions)
+            builder.add(interruption.getKey(), interruption.getValue());
+        return builder.build();
+    }
+
+    public int size() {
+        return startTicks.length;
+    }
+
+    public boolean isEmpty() {
+        return startTicks.length == 0;
+    }
+
+    public long getStartTick(int index) {
+        return startTicks[index];
+    }
+
+    public long getEndTick(int index) {
+        return endTicks[index];
+    }
+
+    public long getInterruptedTicks(long from, long to) {
+        if (startTicks.length == 0 || to <= from)
+            return 0;
+        return getInterruptedTicksBefore(to) - getInterruptedTicksBefore(from);
+    }
+
+    private long getInterruptedTicksBefore(long tick) {
+        val index = countStartTicksBefore(tick) - 1;
+        if (index < 0)
+            return 0;
+        return interruptedTicksBefore[index] + (Math.min(tick, endTicks[index]) - startTicks[index]);
+    }
+
+    private int countStartTicksBefore(long tick) {
+        int low = 0;
+        int high = startTicks.length;
+        while (low < high) {
+            val middle = (low + high) >>> 1;
+            if (startTicks[middle] < tick)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    public long getNextBoundaryTick(long tick) {
+        val index = countStartTicksBefore(tick) - 1;
+        if (index >= 0 && endTicks[index] > tick)
+            return endTicks[index];
+        if (index + 1 < startTicks.length)
+            return startTicks[index + 1] > tick ? startTicks[index + 1] : endTicks[index + 1];
+        return Long.MAX_VALUE;
+    }
+
+}
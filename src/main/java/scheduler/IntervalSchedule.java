@@ -0,0 +1,99 @@
+package scheduler;
+
+import lombok.Getter;
+import lombok.val;
+
+import java.util.*;
+
+public class IntervalSchedule<K, V> {
+
+    @Getter private final Map<K, List<ScheduleInterval<V>>> intervals;
+    @Getter private final int length;
+
+    public static class Builder<K, V> {
+        private final Map<K, List<ScheduleInterval<V>>> intervals = new HashMap<>();
+        private final Map<K, List<ScheduleInterval<V>>> open = new HashMap<>();
+
+        public Builder<K, V> add(K key, int frame, V counterpart) {
+            return add(key, frame, frame + 1, counterpart);
+        }
+
+        public Builder<K, V> add(K key, int start, int end, V counterpart) {
+            val openIntervals = open.computeIfAbsent(key, k -> new ArrayList<>());
+            val iterator = openIntervals.iterator();
+            while (iterator.hasNext()) {
+                val interval = iterator.next();
+                if (interval.getEnd() < start)
+                    iterator.remove();
+                else if (Objects.equals(interval.getCounterpart(), counterpart)) {
+                    interval.setEnd(Math.max(interval.getEnd(), end));
+                    return this;
+                }
+            }
+            val interval = new ScheduleInterval<V>(start, end, counterpart);
+            intervals.computeIfAbsent(key, k -> new ArrayList<>()).add(interval);
+            openIntervals.add(interval);
+            return this;
+        }
+
+        public IntervalSchedule<K, V> build(int length) {
+            return new IntervalSchedule<>(intervals, length);
+        }
+    }
+
+    private static class DenseView<V> extends AbstractList<V> {
+        private final List<ScheduleInterval<V>> intervals;
+        private final int length;
+        private final int[] maxEnds;
+
+        DenseView(List<ScheduleInterval<V>> intervals, int length) {
+            this.intervals = intervals;
+            this.length = length;
+            maxEnds = new int[intervals.size()];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < maxEnds.length; ++i)
+                maxEnds[i] = maxEnd = Math.max(maxEnd, intervals.get(i).getEnd());
+        }
+
+        @Override
+        public V get(int frame) {
+            if (frame < 0 || frame >= length)
+                throw new IndexOutOfBoundsException(Integer.toString(frame));
+            for (int i = countStartedUntil(frame) - 1; i >= 0 && maxEnds[i] > frame; --i)
+                if (intervals.get(i).getEnd() > frame)
+                    return intervals.get(i).getCounterpart();
+            return null;
+        }
+
+        private int countStartedUntil(int frame) {
+            int low = 0;
+            int high = intervals.size();
+            while (low < high) {
+                val middle = (low + high) >>> 1;
+                if (intervals.get(middle).getStart() <= frame)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+
+    private IntervalSchedule(Map<K, List<ScheduleInterval<V>>> intervals, int length) {
+        this.intervals = intervals;
+        this.length = length;
+    }
+
+    public Map<K, List<V>> toDense() {
+        Map<K, List<V>> result = new HashMap<>();
+        for (val entry : intervals.entrySet())
+            result.put(entry.getKey(), new DenseView<>(entry.getValue(), length));
+        return result;
+    }
+
+}
@@ -9,7 +9,7 @@ import java.util.Stack;
 import java.util.function.Function;
 
 @Getter
-@ToString(exclude = {"parent", "dependencies", "impacted"})
+@ToString(exclude = {"parent", "dependencies", "impacted", "reachabilityIndex", "reachabilityId"})
 @EqualsAndHashCode(of = {"id"})
 public class Item implements Identifiable {
 
@@ -28,6 +28,8 @@ public class Item implements Identifiable {
     private List<Item> dependencies = new ArrayList<>();
     private List<Item> children = new ArrayList<>();
     private List<Item> impacted = new ArrayList<>();
+    @Getter(AccessLevel.NONE) ReachabilityIndex reachabilityIndex;
+    @Getter(AccessLevel.NONE) int reachabilityId;
 
     public static class CyclicDependencyException extends RuntimeException {
         CyclicDependencyException(Item item, Item dependency) {
@@ -59,6 +61,12 @@ public class Item implements Identifiable {
         }
     }
 
+    public static class FrozenItemException extends RuntimeException {
+        FrozenItemException(Item item) {
+            super(String.format("%s is frozen in a reachability index", item));
+        }
+    }
+
     public static class PredecessorAlreadySizedException extends RuntimeException {
         PredecessorAlreadySizedException(Item item, Item predecessor) {
             super(String.format("predecessor %s of item %s already has non-empty size", predecessor, item));
@@ -75,6 +83,7 @@ public class Item implements Identifiable {
     }
 
     public void addDependency(Item dependency) {
+        assertNotFrozen();
         assertNoCyclicDependencies(dependency);
         assertIsNotSuccessor(dependency);
         assertNoPredecessorEqualsDependency(dependency);
@@ -82,7 +91,21 @@ public class Item implements Identifiable {
         dependency.impacted.add(this);
     }
 
+    void restoreRelations(Item parent, List<Item> children, List<Item> dependencies, List<Item> impacted) {
+        assertNotFrozen();
+        this.parent = parent;
+        this.children.addAll(children);
+        this.dependencies.addAll(dependencies);
+        this.impacted.addAll(impacted);
+    }
+
+    public boolean isFrozen() {
+        return reachabilityIndex != null;
+    }
+
     public boolean isDependentFrom(Item item) {
+        if (reachabilityIndex != null && reachabilityIndex == item.reachabilityIndex)
+            return reachabilityIndex.isDependentFrom(reachabilityId, item.reachabilityId);
         Stack<Item> stack = new Stack<>();
         stack.addAll(this.dependencies);
         while (!stack.isEmpty()) {
@@ -135,6 +158,7 @@ public class Item implements Identifiable {
     }
 
     public void addChild(Item child) {
+        assertNotFrozen();
         assertNoCylicGenealogy(child);
         assertNotFoundInDependencies(child);
         assertNoOverridingSize(child);
@@ -142,6 +166,11 @@ public class Item implements Identifiable {
         children.add(child);
     }
 
+    private void assertNotFrozen() {
+        if (isFrozen())
+            throw new FrozenItemException(this);
+    }
+
     private void assertNoOverridingSize(Item child) {
         if (child.parameters.getSize() == null)
             return;
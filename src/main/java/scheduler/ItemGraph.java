@@ -0,0 +1,50 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.*;
+import java.util.function.Function;
+
+class ItemGraph {
+
+    static List<Item> postOrder(Collection<Item> roots, Function<Item, List<Item>> successors) {
+        List<Item> result = new ArrayList<>();
+        Set<Item> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Iterator<Item>> stack = new ArrayDeque<>();
+        Deque<Item> path = new ArrayDeque<>();
+        for (val root : roots) {
+            if (!visited.add(root))
+                continue;
+            path.push(root);
+            stack.push(successors.apply(root).iterator());
+            while (!stack.isEmpty()) {
+                val it = stack.peek();
+                if (it.hasNext()) {
+                    val next = it.next();
+                    if (visited.add(next)) {
+                        path.push(next);
+                        stack.push(successors.apply(next).iterator());
+                    }
+                }
+                else {
+                    stack.pop();
+                    result.add(path.pop());
+                }
+            }
+        }
+        return result;
+    }
+
+    static List<Item> dependenciesAndChildren(Item item) {
+        List<Item> result = new ArrayList<>(item.getDependencies());
+        result.addAll(item.getChildren());
+        return result;
+    }
+
+    static List<Item> impactedAndChildren(Item item) {
+        List<Item> result = new ArrayList<>(item.getImpacted());
+        result.addAll(item.getChildren());
+        return result;
+    }
+
+}
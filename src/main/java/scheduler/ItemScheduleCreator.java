@@ -4,20 +4,30 @@ import lombok.val;
 
 import java.util.*;
 
-public class ItemScheduleCreator {
+public class ItemScheduleCreator implements TimelineSink {
+
+    private final IntervalSchedule.Builder<Item, ProjectResource> builder = new IntervalSchedule.Builder<>();
+    private int frameNum = 0;
+
+    @Override
+    public void accept(List<WorkPackage> workPackages, int frames) {
+        for (val pkg : workPackages)
+            builder.add(pkg.getItem(), frameNum, frameNum + frames, pkg.getResource());
+        frameNum += frames;
+    }
+
+    public IntervalSchedule<Item, ProjectResource> build() {
+        return builder.build(frameNum);
+    }
+
+    public static IntervalSchedule<Item, ProjectResource> createIntervals(List<List<WorkPackage>> timeline) {
+        val result = new ItemScheduleCreator();
+        result.acceptAll(timeline);
+        return result.build();
+    }
 
     public static Map<Item, List<ProjectResource>> create(List<List<WorkPackage>> timeline) {
-        Map<Item, List<ProjectResource>> result = new HashMap<>();
-        int frameNum = 0;
-        for (val frame : timeline) {
-            for (val pkg : frame) {
-                result
-                        .computeIfAbsent(pkg.getItem(), k -> new ArrayList<>(Arrays.asList(new ProjectResource[timeline.size()])))
-                        .set(frameNum, pkg.getResource());
-            }
-            frameNum++;
-        }
-        return result;
+        return createIntervals(timeline).toDense();
     }
 
 }
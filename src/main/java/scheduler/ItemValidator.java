@@ -0,0 +1,209 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.*;
+
+public class ItemValidator {
+
+    private static final int NONE = -1;
+
+    private final Item[] items;
+    private final int[] parents;
+    private final int[][] children;
+    private final int[][] dependencies;
+    private final List<RuntimeException> violations = new ArrayList<>();
+    private int[] entered;
+    private int[] exited;
+
+    private ItemValidator(Collection<Item> items) {
+        this.items = items.toArray(new Item[0]);
+        Map<Item, Integer> indexes = new IdentityHashMap<>();
+        for (val item : this.items)
+            indexes.put(item, indexes.size());
+        val size = this.items.length;
+        parents = new int[size];
+        children = new int[size][];
+        dependencies = new int[size][];
+        for (int i = 0; i < size; ++i) {
+            val item = this.items[i];
+            val parent = item.getParent() == null ? null : indexes.get(item.getParent());
+            parents[i] = parent == null ? NONE : parent;
+            children[i] = item.getChildren().stream().mapToInt(indexes::get).toArray();
+            dependencies[i] = item.getDependencies().stream().mapToInt(indexes::get).toArray();
+        }
+    }
+
+    public static void validate(Collection<Item> items) {
+        val validator = new ItemValidator(items);
+        validator.validate();
+        val violations = validator.violations;
+        if (violations.isEmpty())
+            return;
+        val first = violations.get(0);
+        for (int i = 1; i < violations.size(); ++i)
+            first.addSuppressed(violations.get(i));
+        throw first;
+    }
+
+    public static void restore(Collection<Item> items, Map<Item, Item> parents, Map<Item, List<Item>> children,
+                               Map<Item, List<Item>> dependencies, Map<Item, List<Item>> impacted) {
+        for (val item : items)
+            item.restoreRelations(
+                    parents.get(item),
+                    children.getOrDefault(item, Collections.emptyList()),
+                    dependencies.getOrDefault(item, Collections.emptyList()),
+                    impacted.getOrDefault(item, Collections.emptyList()));
+        validate(items);
+    }
+
+    private void validate() {
+        val acyclicGenealogy = checkGenealogyCycles();
+        checkDependencyCycles();
+        if (!acyclicGenealogy)
+            return;
+        indexTree();
+        checkDirectRelatives();
+        checkSizes();
+        checkIndirectRelatives();
+    }
+
+    private void checkDependencyCycles() {
+        val component = StronglyConnectedComponents.of(dependencies);
+        Set<Integer> reported = new HashSet<>();
+        for (int i = 0; i < items.length; ++i)
+            for (val dependency : dependencies[i])
+                if (component[i] == component[dependency] && reported.add(component[i]))
+                    violations.add(new Item.CyclicDependencyException(detached(items[i]), detached(items[dependency])));
+    }
+
+    private boolean checkGenealogyCycles() {
+        val component = StronglyConnectedComponents.of(children);
+        Set<Integer> reported = new HashSet<>();
+        for (int i = 0; i < items.length; ++i)
+            for (val child : children[i])
+                if (component[i] == component[child] && reported.add(component[i]))
+                    violations.add(new Item.GenealogyException(detached(items[i]), detached(items[child])));
+        return reported.isEmpty();
+    }
+
+    private static Item detached(Item item) {
+        return new Item(item.getId(), item.getParameters());
+    }
+
+    private void indexTree() {
+        val size = items.length;
+        int[][] tree = new int[size][];
+        int[] counts = new int[size];
+        for (val parent : parents)
+            if (parent != NONE)
+                counts[parent]++;
+        for (int i = 0; i < size; ++i)
+            tree[i] = new int[counts[i]];
+        for (int i = 0; i < size; ++i)
+            if (parents[i] != NONE)
+                tree[parents[i]][--counts[parents[i]]] = i;
+        entered = new int[size];
+        exited = new int[size];
+        int clock = 0;
+        int[] stack = new int[size];
+        int[] next = new int[size];
+        for (int root = 0; root < size; ++root) {
+            if (parents[root] != NONE)
+                continue;
+            int depth = 0;
+            stack[0] = root;
+            next[0] = 0;
+            entered[root] = clock++;
+            while (depth >= 0) {
+                val node = stack[depth];
+                if (next[depth] < tree[node].length) {
+                    val child = tree[node][next[depth]++];
+                    entered[child] = clock++;
+                    stack[++depth] = child;
+                    next[depth] = 0;
+                }
+                else {
+                    exited[node] = clock;
+                    depth--;
+                }
+            }
+        }
+    }
+
+    private boolean isProperAncestor(int ancestor, int node) {
+        return entered[ancestor] < entered[node] && exited[node] <= exited[ancestor];
+    }
+
+    private void checkDirectRelatives() {
+        for (int i = 0; i < items.length; ++i) {
+            for (val dependency : dependencies[i]) {
+                if (isProperAncestor(i, dependency))
+                    violations.add(new Item.DependentFromSuccessorException(items[i], items[dependency]));
+                else if (isProperAncestor(dependency, i))
+                    violations.add(new Item.DependencyCannotBePredecessorException(items[i], items[dependency]));
+            }
+        }
+    }
+
+    private void checkSizes() {
+        val order = new Integer[items.length];
+        for (int i = 0; i < order.length; ++i)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(i -> entered[i]));
+        int[] sizedAncestor = new int[items.length];
+        for (val node : order) {
+            val parent = parents[node];
+            sizedAncestor[node] = parent == NONE ? NONE : isSized(parent) ? parent : sizedAncestor[parent];
+            if (isSized(node) && sizedAncestor[node] != NONE)
+                violations.add(new Item.PredecessorAlreadySizedException(items[parent], items[sizedAncestor[node]]));
+        }
+    }
+
+    private boolean isSized(int node) {
+        return items[node].getParameters().getSize() != null;
+    }
+
+    private void checkIndirectRelatives() {
+        int[][] upwards = new int[items.length][];
+        int[][] downwards = new int[items.length][];
+        for (int i = 0; i < items.length; ++i) {
+            downwards[i] = concat(dependencies[i], children[i]);
+            upwards[i] = dependencies[i];
+        }
+        for (int i = 0; i < items.length; ++i)
+            for (val child : children[i])
+                upwards[child] = concat(upwards[child], new int[]{i});
+        val upwardComponent = StronglyConnectedComponents.of(upwards);
+        val downwardComponent = StronglyConnectedComponents.of(downwards);
+        for (int parent = 0; parent < items.length; ++parent) {
+            for (val child : children[parent]) {
+                if (upwardComponent[parent] == upwardComponent[child] && dependsOn(parent, child, upwardComponent))
+                    violations.add(new Item.DependentFromPredecessorException(items[child], items[parent]));
+                if (downwardComponent[parent] == downwardComponent[child] && dependsOn(child, parent, downwardComponent))
+                    violations.add(new Item.DependentFromSuccessorException(items[parent], items[child]));
+            }
+        }
+    }
+
+    private boolean dependsOn(int from, int target, int[] component) {
+        Set<Integer> visited = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(from);
+        while (!stack.isEmpty()) {
+            for (val dependency : dependencies[stack.pop()]) {
+                if (dependency == target)
+                    return true;
+                if (component[dependency] == component[target] && visited.add(dependency))
+                    stack.push(dependency);
+            }
+        }
+        return false;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        val result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
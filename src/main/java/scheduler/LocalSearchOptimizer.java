@@ -0,0 +1,143 @@
+package scheduler;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.val;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+public class LocalSearchOptimizer {
+
+    public static class InterruptedOptimizationException extends RuntimeException {
+        public InterruptedOptimizationException(InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    public static class InvalidNeighboursException extends RuntimeException {
+        public InvalidNeighboursException(int neighbours) {
+            super(Integer.toString(neighbours));
+        }
+    }
+
+    private static class Candidate {
+        final DispatchPlan plan;
+        final float cost;
+
+        Candidate(DispatchPlan plan, float cost) {
+            this.plan = plan;
+            this.cost = cost;
+        }
+    }
+
+    private final ScheduleCreator scheduleCreator;
+    private final Collection<ProjectResource> resources;
+    private final ExecutorService executor;
+    private final List<Item> items;
+    private final float priorityStep;
+    @Setter private long timeBudgetMillis = 1000;
+    @Setter private int evaluationBudget = Integer.MAX_VALUE;
+    private int neighbours = Runtime.getRuntime().availableProcessors();
+    @Setter private double initialTemperature = 1.0;
+    @Setter private double cooling = 0.95;
+    @Setter private long seed = 0;
+    @Getter private int evaluations = 0;
+
+    public LocalSearchOptimizer(ScheduleCreator scheduleCreator, Collection<ProjectResource> resources, ExecutorService executor) {
+        this.scheduleCreator = scheduleCreator;
+        this.resources = resources;
+        this.executor = executor;
+        items = scheduleCreator.getPrioritizedItems().stream()
+                .flatMap(Collection::stream)
+                .filter(i -> i.getParameters().getSize() != null && i.getParameters().getSize() > 0)
+                .collect(Collectors.toList());
+        priorityStep = (float) items.stream()
+                .mapToDouble(i -> i.getParameters().getSize())
+                .average()
+                .orElse(1.0);
+    }
+
+    public LocalSearchOptimizer(ScheduleCreator scheduleCreator, Collection<ProjectResource> resources) {
+        this(scheduleCreator, resources, ForkJoinPool.commonPool());
+    }
+
+    public void setNeighbours(int neighbours) {
+        if (neighbours < 1)
+            throw new InvalidNeighboursException(neighbours);
+        this.neighbours = neighbours;
+    }
+
+    public Schedule optimize() {
+        val initial = scheduleCreator.create(resources);
+        evaluations = 1;
+        if (items.isEmpty())
+            return initial;
+        val start = System.nanoTime();
+        val timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        val random = new Random(seed);
+        Candidate current = new Candidate(DispatchPlan.DEFAULT, initial.getTotalCost());
+        Candidate best = current;
+        double temperature = initialTemperature * Math.max(Math.abs(current.cost), 1.0f);
+        while (evaluations < evaluationBudget && System.nanoTime() - start < timeBudgetNanos) {
+            val neighbour = evaluateNeighbours(current.plan, random);
+            val delta = neighbour.cost - current.cost;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature))
+                current = neighbour;
+            if (current.cost < best.cost)
+                best = current;
+            temperature *= cooling;
+        }
+        if (best.plan == DispatchPlan.DEFAULT)
+            return initial;
+        return scheduleCreator.create(resources, best.plan);
+    }
+
+    private Candidate evaluateNeighbours(DispatchPlan plan, Random random) {
+        List<Callable<Candidate>> tasks = new ArrayList<>();
+        for (int i = 0; i < neighbours; ++i) {
+            val neighbour = perturb(plan, random);
+            tasks.add(() -> new Candidate(neighbour, calculateCost(neighbour)));
+        }
+        try {
+            Candidate result = null;
+            for (val future : executor.invokeAll(tasks)) {
+                val candidate = future.get();
+                if (result == null || candidate.cost < result.cost)
+                    result = candidate;
+            }
+            evaluations += tasks.size();
+            return result;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedOptimizationException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private float calculateCost(DispatchPlan plan) {
+        try {
+            return scheduleCreator.calculateCost(resources, plan);
+        }
+        catch (TimelineFactory.ExceededMaxInactivityException e) {
+            return Float.POSITIVE_INFINITY;
+        }
+    }
+
+    private DispatchPlan perturb(DispatchPlan plan, Random random) {
+        val item = items.get(random.nextInt(items.size()));
+        List<ProjectResource> capable = resources.stream()
+                .filter(r -> r.getRate(item) > 0)
+                .collect(Collectors.toList());
+        if (capable.isEmpty() || random.nextBoolean())
+            return plan.withPriority(item, plan.getPriority(item) + (float) random.nextGaussian() * priorityStep);
+        return plan.withPreferredResource(item, capable.get(random.nextInt(capable.size())));
+    }
+
+}
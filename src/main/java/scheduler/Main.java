@@ -5,61 +5,98 @@ import lombok.val;
 import scheduler.infrastructure.*;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
 
-    private <T1 extends Identifiable, T2 extends Identifiable> List<List<String>> createSchedulePresentation(Map<T1, List<T2>> schedule, float resolution) {
-        List<List<String>> result = new ArrayList<>();
-        result.add(createScheduleHeader(schedule.values().iterator().next().size(), resolution));
+    private static final String ITEMS_FILE = "pbs.csv";
+    private static final String RESOURCES_FILE = "resources.csv";
+    private static final String INTERRUPTIONS_FILE = "interruptions.csv";
+    private static final String SNAPSHOT_FILE = "model.snapshot";
+    private static final String INTERVALS_FILE = "intervals.csv";
+    private static final String INTERVALS_OPTION = "--intervals";
+
+    private <T1 extends Identifiable, T2 extends Identifiable> void writeSchedulePresentation(ExcelMatrixWriter.Section section, Map<T1, List<T2>> schedule, long resolution) {
+        section.addRow(createScheduleHeader(schedule.values().iterator().next().size(), resolution));
         for (val entry : schedule.entrySet()) {
             List<String> row = new ArrayList<>();
             row.add(entry.getKey().getId());
             for (val frame : entry.getValue())
                 row.add(frame == null ? "" : frame.getId());
-            result.add(row);
+            section.addRow(row);
         }
-        return result;
     }
 
-    private static List<String> createScheduleHeader(int scheduleSize, float resolution) {
+    private static List<String> createScheduleHeader(int scheduleSize, long resolution) {
         List<String> result = new ArrayList<>();
         result.add("");
-        float time = 0.0f;
-        for (int i = 0; i < scheduleSize; ++i) {
-            result.add(Float.toString(time));
-            time += resolution;
-        }
+        for (int i = 0; i < scheduleSize; ++i)
+            result.add(Float.toString((float) Ticks.toTime(i * resolution)));
         return result;
     }
 
-    @SneakyThrows
     private MatrixReader createReader(String path) {
-        return new CsvMatrixReader(Files.newBufferedReader(Paths.get(path)));
+        return new MappedCsvMatrixReader(Paths.get(path));
     }
 
-    private void run() {
-
-        val itemFactory = new MatrixItemFactory(createReader("pbs.csv"));
-        val items = itemFactory.create().values();
+    private CompiledModel compileModel() {
+        val itemFactory = new MatrixItemFactory(createReader(ITEMS_FILE));
+        itemFactory.setFrozen(true);
+        itemFactory.setBulk(true);
+        val items = itemFactory.create();
 
-        val interruptionsFactory = new MatrixInterruptionsFactory(createReader("interruptions.csv"));
+        val interruptionsFactory = new MatrixInterruptionsFactory(createReader(INTERRUPTIONS_FILE));
+        interruptionsFactory.setExecutor(ForkJoinPool.commonPool());
 
         val capacityProviderFactory = new CapacityProviderFactory();
-        val resourceFactory = new MatrixResourceFactory(createReader("resources.csv"), capacityProviderFactory, interruptionsFactory);
-        val resources = resourceFactory.create();
+        val resourceFactory = new MatrixResourceFactory(createReader(RESOURCES_FILE), capacityProviderFactory, interruptionsFactory);
+        resourceFactory.setExecutor(ForkJoinPool.commonPool());
+        return CompiledModel.compile(items, resourceFactory.create());
+    }
 
-        val costCalculator = new ProjectLengthCostCalculator();
-        val scheduleCreator = new ScheduleCreator(items, costCalculator);
-        val schedule = scheduleCreator.create(resources);
+    private CompiledModel loadModel() {
+        val hash = ModelSnapshot.hash(Paths.get(ITEMS_FILE), Paths.get(RESOURCES_FILE), Paths.get(INTERRUPTIONS_FILE));
+        val snapshot = Paths.get(SNAPSHOT_FILE);
+        val cached = ModelSnapshot.read(snapshot, hash);
+        if (cached != null)
+            return cached;
+        val result = compileModel();
+        ModelSnapshot.write(snapshot, hash, result);
+        return result;
+    }
 
-        val itemSchedulePresentation = createSchedulePresentation(schedule.getItemSchedule(), scheduleCreator.getResolution());
-        val resourceSchedulePresentation = createSchedulePresentation(schedule.getResourceSchedule(), scheduleCreator.getResolution());
+    private static Path findIntervalsPath(String[] args) {
+        for (int i = 0; i < args.length; ++i)
+            if (INTERVALS_OPTION.equals(args[i]))
+                return Paths.get(i + 1 < args.length ? args[i + 1] : INTERVALS_FILE);
+        return null;
+    }
+
+    @SneakyThrows
+    private Schedule createSchedule(ScheduleCreator scheduleCreator, CompiledModel model, Path intervalsPath) {
+        if (intervalsPath == null)
+            return scheduleCreator.create(model.getResources(), DispatchPlan.DEFAULT);
+        try (val intervals = new CsvScheduleWriter(Files.newBufferedWriter(intervalsPath), scheduleCreator.getResolutionTicks())) {
+            return scheduleCreator.create(model.getResources(), DispatchPlan.DEFAULT, intervals);
+        }
+    }
+
+    @SneakyThrows
+    private void run(Path intervalsPath) {
+
+        val model = loadModel();
+
+        val costCalculator = new ProjectLengthCostCalculator();
+        val scheduleCreator = ScheduleCreator.ofPrioritized(model.getPrioritizedItems(), costCalculator);
+        scheduleCreator.setEventDriven(true);
+        val schedule = createSchedule(scheduleCreator, model, intervalsPath);
 
-        val excelWriter = new ExcelMatrixWriter(Paths.get("result.xlsx"));
-        excelWriter.addSection("Results", "Item schedule", itemSchedulePresentation);
-        excelWriter.addSection("Results", "Resource schedule", resourceSchedulePresentation);
+        val excelWriter = ExcelMatrixWriter.streaming(Paths.get("result.xlsx"));
+        writeSchedulePresentation(excelWriter.openSection("Results", "Item schedule"), schedule.getItemSchedule(), scheduleCreator.getResolutionTicks());
+        writeSchedulePresentation(excelWriter.openSection("Results", "Resource schedule"), schedule.getResourceSchedule(), scheduleCreator.getResolutionTicks());
         excelWriter.addSection(
                 "Results",
                 "Total cost (all resources engaged for the whole time)",
@@ -68,7 +105,7 @@ public class Main {
     }
 
     public static void main(String[] args) {
-        new Main().run();
+        new Main().run(findIntervalsPath(args));
     }
 
 }
@@ -1,79 +1,126 @@
 package scheduler;
 
-import lombok.AllArgsConstructor;
 import lombok.val;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Prioritizer {
 
-    @AllArgsConstructor
-    private static class Node {
-        Item item;
-        int position;
+    public static class UnknownItemException extends RuntimeException {
+        public UnknownItemException(Item item) {
+            super(item.getId());
+        }
     }
 
     public Collection<Collection<Item>> prioritize(Collection<Item> items) {
-        val positions = initPositionMap(items);
-        for (Item item : items)
-            for (Item dependency : item.getDependencies())
-                putInFront(positions, dependency, item);
-        return collect(positions);
-    }
-
-    private static Map<String, Node> initPositionMap(Collection<Item> items) {
-        Map<String, Node> result = new HashMap<>();
-        for (Item item : items)
-            result.put(item.getId(), new Node(item, 0));
-        return result;
+        val array = items.toArray(new Item[0]);
+        return collect(array, layer(array));
     }
 
-    private static void putInFront(Map<String, Node> positions, Item predecessor, Item successor) {
-        val predecessorNode = positions.get(predecessor.getId());
-        val successorNode = positions.get(successor.getId());
-        val positionDiff = successorNode.position - predecessorNode.position;
-        if (positionDiff <= 0) {
-            move(positions, predecessor, positionDiff - 1);
-            alignAncestors(positions, predecessor);
+    private static int[] layer(Item[] items) {
+        val size = items.length;
+        Map<Item, Integer> indexes = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; ++i)
+            indexes.put(items[i], i);
+        int[] offsets = new int[2 * size + 1];
+        for (int i = 0; i < size; ++i) {
+            offsets[i + 1] = items[i].getChildren().size() + 1;
+            offsets[size + i + 1] = items[i].getDependencies().size() + (items[i].getParent() == null ? 0 : 1);
+        }
+        for (int node = 0; node < 2 * size; ++node)
+            offsets[node + 1] += offsets[node];
+        int[] targets = new int[offsets[2 * size]];
+        for (int i = 0; i < size; ++i) {
+            int edge = offsets[i];
+            targets[edge++] = size + i;
+            for (val child : items[i].getChildren())
+                targets[edge++] = indexOf(indexes, child);
+            edge = offsets[size + i];
+            for (val dependency : items[i].getDependencies())
+                targets[edge++] = indexOf(indexes, dependency);
+            if (items[i].getParent() != null)
+                targets[edge] = size + indexOf(indexes, items[i].getParent());
         }
+        val acyclic = layerAcyclic(offsets, targets, size);
+        if (acyclic != null)
+            return acyclic;
+        int[][] successors = new int[2 * size][];
+        for (int node = 0; node < 2 * size; ++node)
+            successors[node] = Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+        return layerCondensed(successors, size);
     }
 
-    private static void move(Map<String, Node> positions, Item item, int offset) {
-        Stack<Item> stack = new Stack<>();
-        stack.push(item);
-        while (!stack.isEmpty()) {
-            Item current = stack.pop();
-            positions.get(current.getId()).position += offset;
-            stack.addAll(current.getChildren());
-            stack.addAll(current.getDependencies());
-        }
+    private static int indexOf(Map<Item, Integer> indexes, Item item) {
+        val result = indexes.get(item);
+        if (result == null)
+            throw new UnknownItemException(item);
+        return result;
     }
 
-    private static void alignAncestors(Map<String, Node> positions, Item item) {
-        val itemNode = positions.get(item.getId());
-        Item ancestor = item.getParent();
-        while (ancestor != null) {
-            val ancestorNode = positions.get(ancestor.getId());
-            val positionDiff = itemNode.position - ancestorNode.position;
-            if (positionDiff != 0)
-                expand(positions, ancestorNode.item, positionDiff);
-            ancestor = ancestor.getParent();
+    private static int[] layerAcyclic(int[] offsets, int[] targets, int size) {
+        int[] pending = new int[2 * size];
+        for (val target : targets)
+            pending[target]++;
+        int[] queue = new int[2 * size];
+        int tail = 0;
+        for (int node = 0; node < 2 * size; ++node)
+            if (pending[node] == 0)
+                queue[tail++] = node;
+        int[] depths = new int[2 * size];
+        for (int head = 0; head < tail; ++head) {
+            val node = queue[head];
+            for (int edge = offsets[node]; edge < offsets[node + 1]; ++edge) {
+                val successor = targets[edge];
+                val step = node >= size && successor < size ? 1 : 0;
+                depths[successor] = Math.max(depths[successor], depths[node] + step);
+                if (--pending[successor] == 0)
+                    queue[tail++] = successor;
+            }
         }
+        return tail == 2 * size ? Arrays.copyOf(depths, size) : null;
     }
 
-    private static void expand(Map<String, Node> positions, Item item, int offset) {
-        for (Item dependency : item.getDependencies())
-            move(positions, dependency, offset);
+    private static int[] layerCondensed(int[][] successors, int size) {
+        val component = StronglyConnectedComponents.of(successors);
+        val components = Arrays.stream(component).max().orElse(-1) + 1;
+        int[] starts = new int[components + 1];
+        for (val c : component)
+            starts[c + 1]++;
+        for (int c = 0; c < components; ++c)
+            starts[c + 1] += starts[c];
+        int[] members = new int[2 * size];
+        int[] filled = Arrays.copyOf(starts, components);
+        for (int node = 0; node < 2 * size; ++node)
+            members[filled[component[node]]++] = node;
+
+        int[] depths = new int[components];
+        for (int c = components - 1; c >= 0; --c) {
+            for (int m = starts[c]; m < starts[c + 1]; ++m) {
+                val node = members[m];
+                for (val successor : successors[node]) {
+                    val target = component[successor];
+                    if (target == c)
+                        continue;
+                    val step = node >= size && successor < size ? 1 : 0;
+                    depths[target] = Math.max(depths[target], depths[c] + step);
+                }
+            }
+        }
+        int[] result = new int[size];
+        for (int i = 0; i < size; ++i)
+            result[i] = depths[component[i]];
+        return result;
     }
 
-    private static Collection<Collection<Item>> collect(Map<String, Node> positions) {
-        Map<Integer, Collection<Item>> result = new TreeMap<>();
-        for (Node node : positions.values())
-            result
-                    .computeIfAbsent(node.position, k -> new ArrayList<>())
-                    .add(node.item);
-        return result.values();
+    private static Collection<Collection<Item>> collect(Item[] items, int[] depths) {
+        val layers = Arrays.stream(depths).max().orElse(-1) + 1;
+        List<Collection<Item>> result = new ArrayList<>(layers);
+        for (int i = 0; i < layers; ++i)
+            result.add(new ArrayList<>());
+        for (int i = 0; i < items.length; ++i)
+            result.get(layers - 1 - depths[i]).add(items[i]);
+        result.removeIf(Collection::isEmpty);
+        return result;
     }
 
 }
@@ -1,20 +1,30 @@
 package scheduler;
 
-import lombok.AllArgsConstructor;
 import lombok.val;
 
-import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
-public class ProjectLengthCostCalculator implements CostCalculator {
+public class ProjectLengthCostCalculator implements StreamingCostCalculator {
 
     @Override
-    public float calculate(List<List<WorkPackage>> timeline, float resolution) {
-        val resources = timeline.stream()
-                .flatMap(Collection::stream)
-                .map(WorkPackage::getResource)
-                .collect(Collectors.toSet());
-        return resources.size() * timeline.size() * resolution;
+    public Accumulator createAccumulator(float resolution) {
+        return new Accumulator() {
+            final Set<ProjectResource> resources = new HashSet<>();
+            long frames = 0;
+
+            @Override
+            public void accept(List<WorkPackage> workPackages, int frames) {
+                for (val workPackage : workPackages)
+                    resources.add(workPackage.getResource());
+                this.frames += frames;
+            }
+
+            @Override
+            public float getCost() {
+                return resources.size() * frames * resolution;
+            }
+        };
     }
 }
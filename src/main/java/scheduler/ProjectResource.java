@@ -5,6 +5,7 @@ import lombok.*;
 import scheduler.capacity.CapacityCalculator;
 
 import java.util.List;
+import java.util.Set;
 
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
@@ -12,16 +13,26 @@ import java.util.List;
 public class ProjectResource implements Identifiable {
     @Getter private String id;
     private CapacityCalculator capacityCalculator;
-    private List<Pair<Float, Float>> interruptions;
-
-    public float getCapacity(Item item, float time, float delta) {
-        Pair<Float, Float> taskTime = new Pair<>(time, time + delta);
-        val interruptedTime = interruptions.stream()
-                .map(i -> new Pair<>(Math.max(taskTime.getKey(), i.getKey()), Math.min(taskTime.getValue(), i.getValue())))
-                .filter(ip -> ip.getValue() > taskTime.getKey())
-                .filter(ip -> ip.getKey() < taskTime.getValue())
-                .mapToDouble(ip -> ip.getValue() - ip.getKey())
-                .sum();
-        return (float) (delta - interruptedTime) * capacityCalculator.calculate(item);
+    @Getter private Interruptions interruptions;
+
+    public ProjectResource(String id, CapacityCalculator capacityCalculator, List<Pair<Float, Float>> interruptions) {
+        this(id, capacityCalculator, Interruptions.of(interruptions));
+    }
+
+    public void compileCapacities(Set<Item> items) {
+        capacityCalculator.compile(items);
+    }
+
+    public float getRate(Item item) {
+        return capacityCalculator.calculate(item);
+    }
+
+    public float getTickCapacity(Item item, long tick, long deltaTicks) {
+        val interruptedTicks = interruptions.getInterruptedTicks(tick, tick + deltaTicks);
+        return (float) (Ticks.toTime(deltaTicks - interruptedTicks) * getRate(item));
+    }
+
+    public long getNextInterruptionBoundaryTick(long tick) {
+        return interruptions.getNextBoundaryTick(tick);
     }
 }
@@ -0,0 +1,99 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.*;
+
+public class ReachabilityIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final int[][] dependentFrom;
+
+    private ReachabilityIndex(int size) {
+        dependentFrom = new int[size][];
+    }
+
+    public static ReachabilityIndex freeze(Collection<Item> items) {
+        val order = ItemGraph.postOrder(items, ItemGraph::dependenciesAndChildren);
+        val result = new ReachabilityIndex(order.size());
+        for (int i = 0; i < order.size(); ++i) {
+            val item = order.get(i);
+            item.reachabilityIndex = result;
+            item.reachabilityId = i;
+        }
+        int[][] closures = new int[order.size()][];
+        List<int[]> parts = new ArrayList<>();
+        for (int i = 0; i < order.size(); ++i) {
+            val item = order.get(i);
+            result.dependentFrom[i] = union(item.getDependencies(), closures, parts);
+            parts.add(result.dependentFrom[i]);
+            for (val child : item.getChildren())
+                parts.add(closures[child.reachabilityId]);
+            parts.add(new int[]{i, i});
+            closures[i] = merge(parts);
+        }
+        return result;
+    }
+
+    private static int[] union(List<Item> items, int[][] closures, List<int[]> parts) {
+        if (items.isEmpty())
+            return EMPTY;
+        if (items.size() == 1)
+            return closures[items.get(0).reachabilityId];
+        for (val item : items)
+            parts.add(closures[item.reachabilityId]);
+        return merge(parts);
+    }
+
+    private static int[] merge(List<int[]> parts) {
+        int count = 0;
+        for (val part : parts)
+            count += part.length / 2;
+        long[] intervals = new long[count];
+        count = 0;
+        for (val part : parts)
+            for (int i = 0; i < part.length; i += 2)
+                intervals[count++] = (long) part[i] << 32 | part[i + 1];
+        parts.clear();
+        Arrays.sort(intervals);
+        int[] result = new int[2 * count];
+        int size = 0;
+        for (val interval : intervals) {
+            val start = (int) (interval >>> 32);
+            val end = (int) interval;
+            if (size > 0 && start <= result[size - 1] + 1)
+                result[size - 1] = Math.max(result[size - 1], end);
+            else {
+                result[size++] = start;
+                result[size++] = end;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    boolean isDependentFrom(int itemId, int otherId) {
+        return otherId < itemId && contains(dependentFrom[itemId], otherId);
+    }
+
+    private static boolean contains(int[] intervals, int id) {
+        int low = 0;
+        int high = intervals.length / 2;
+        while (low < high) {
+            val middle = (low + high) >>> 1;
+            if (intervals[2 * middle] <= id)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low > 0 && intervals[2 * low - 1] >= id;
+    }
+
+    int countIntervals() {
+        int result = 0;
+        for (val intervals : dependentFrom)
+            result += intervals.length / 2;
+        return result;
+    }
+
+}
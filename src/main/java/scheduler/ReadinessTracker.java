@@ -0,0 +1,113 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+class ReadinessTracker {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[] parents;
+    private final int[][] impacted;
+    private final int[][] allocations;
+    private final int[] allocationNodes;
+    private final int[] pendingSelf;
+    private final int[] pendingChildren;
+    private final int[] pendingDependencies;
+
+    ReadinessTracker(List<Item> items) {
+        Map<Item, Integer> nodes = new IdentityHashMap<>();
+        List<Item> nodeItems = new ArrayList<>();
+        Deque<Item> stack = new ArrayDeque<>(items);
+        while (!stack.isEmpty()) {
+            val current = stack.pop();
+            if (nodes.containsKey(current))
+                continue;
+            nodes.put(current, nodeItems.size());
+            nodeItems.add(current);
+            stack.addAll(current.getDependencies());
+            stack.addAll(current.getChildren());
+        }
+        val size = nodeItems.size();
+        parents = new int[size];
+        impacted = new int[size][];
+        allocations = new int[size][];
+        pendingSelf = new int[size];
+        pendingChildren = new int[size];
+        pendingDependencies = new int[size];
+        for (int node = 0; node < size; ++node) {
+            val item = nodeItems.get(node);
+            val parent = nodes.get(item.getParent());
+            parents[node] = parent == null ? -1 : parent;
+            impacted[node] = item.getImpacted().stream()
+                    .filter(nodes::containsKey)
+                    .mapToInt(nodes::get)
+                    .toArray();
+            allocations[node] = NONE;
+            pendingChildren[node] = item.getChildren().size();
+            pendingDependencies[node] = item.getDependencies().size();
+        }
+        allocationNodes = new int[items.size()];
+        for (int i = 0; i < items.size(); ++i) {
+            val node = nodes.get(items.get(i));
+            allocationNodes[i] = node;
+            pendingSelf[node]++;
+            allocations[node] = Arrays.copyOf(allocations[node], allocations[node].length + 1);
+            allocations[node][allocations[node].length - 1] = i;
+        }
+        Deque<Integer> finished = new ArrayDeque<>();
+        for (int node = 0; node < size; ++node)
+            if (isFinished(node))
+                finished.add(node);
+        propagate(finished, allocation -> {});
+    }
+
+    private ReadinessTracker(ReadinessTracker other) {
+        parents = other.parents;
+        impacted = other.impacted;
+        allocations = other.allocations;
+        allocationNodes = other.allocationNodes;
+        pendingSelf = other.pendingSelf.clone();
+        pendingChildren = other.pendingChildren.clone();
+        pendingDependencies = other.pendingDependencies.clone();
+    }
+
+    ReadinessTracker fork() {
+        return new ReadinessTracker(this);
+    }
+
+    private boolean isFinished(int node) {
+        return pendingSelf[node] == 0 && pendingChildren[node] == 0 && pendingDependencies[node] == 0;
+    }
+
+    boolean isReady(int allocation) {
+        return pendingDependencies[allocationNodes[allocation]] == 0;
+    }
+
+    void complete(int allocation, IntConsumer onReady) {
+        val node = allocationNodes[allocation];
+        pendingSelf[node]--;
+        if (isFinished(node))
+            propagate(new ArrayDeque<>(Collections.singletonList(node)), onReady);
+    }
+
+    private void propagate(Deque<Integer> finished, IntConsumer onReady) {
+        while (!finished.isEmpty()) {
+            int node = finished.pop();
+            val parent = parents[node];
+            if (parent >= 0 && --pendingChildren[parent] == 0 && isFinished(parent))
+                finished.push(parent);
+            for (val next : impacted[node]) {
+                if (--pendingDependencies[next] != 0)
+                    continue;
+                if (pendingSelf[next] > 0)
+                    for (val allocation : allocations[next])
+                        onReady.accept(allocation);
+                else if (isFinished(next))
+                    finished.push(next);
+            }
+        }
+    }
+}
@@ -4,20 +4,30 @@ import lombok.val;
 
 import java.util.*;
 
-public class ResourceScheduleCreator {
+public class ResourceScheduleCreator implements TimelineSink {
+
+    private final IntervalSchedule.Builder<ProjectResource, Item> builder = new IntervalSchedule.Builder<>();
+    private int frameNum = 0;
+
+    @Override
+    public void accept(List<WorkPackage> workPackages, int frames) {
+        for (val pkg : workPackages)
+            builder.add(pkg.getResource(), frameNum, frameNum + frames, pkg.getItem());
+        frameNum += frames;
+    }
+
+    public IntervalSchedule<ProjectResource, Item> build() {
+        return builder.build(frameNum);
+    }
+
+    public static IntervalSchedule<ProjectResource, Item> createIntervals(List<List<WorkPackage>> timeline) {
+        val result = new ResourceScheduleCreator();
+        result.acceptAll(timeline);
+        return result.build();
+    }
 
     public static Map<ProjectResource, List<Item>> create(List<List<WorkPackage>> timeline) {
-        Map<ProjectResource, List<Item>> result = new HashMap<>();
-        int frameNum = 0;
-        for (val frame : timeline) {
-            for (val pkg : frame) {
-                result
-                        .computeIfAbsent(pkg.getResource(), k -> new ArrayList<>(Arrays.asList(new Item[timeline.size()])))
-                        .set(frameNum, pkg.getItem());
-            }
-            frameNum++;
-        }
-        return result;
+        return createIntervals(timeline).toDense();
     }
 
 }
@@ -0,0 +1,92 @@
+package scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.val;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class ScenarioEvaluator {
+
+    public static class ScenarioFailedException extends RuntimeException {
+        public ScenarioFailedException(String scenario, Throwable cause) {
+            super(scenario, cause);
+        }
+    }
+
+    public static class InterruptedEvaluationException extends RuntimeException {
+        public InterruptedEvaluationException(InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final String scenario;
+        private final Schedule schedule;
+    }
+
+    @Getter private final ScheduleCreator scheduleCreator;
+    private final ExecutorService executor;
+
+    private ScenarioEvaluator(Collection<Item> items, CostCalculator costCalculator, ExecutorService executor) {
+        this.scheduleCreator = new ScheduleCreator(items, costCalculator);
+        this.executor = executor;
+    }
+
+    /**
+     * Freezes the given items in place, so that scenarios can share them across threads,
+     * and creates an evaluator over them. Frozen items reject further relation changes.
+     */
+    public static ScenarioEvaluator freezing(Collection<Item> items, CostCalculator costCalculator, ExecutorService executor) {
+        if (!items.stream().allMatch(Item::isFrozen))
+            ReachabilityIndex.freeze(items);
+        return new ScenarioEvaluator(items, costCalculator, executor);
+    }
+
+    public static ScenarioEvaluator freezing(Collection<Item> items, CostCalculator costCalculator) {
+        return freezing(items, costCalculator, ForkJoinPool.commonPool());
+    }
+
+    public void evaluate(Map<String, Collection<ProjectResource>> scenarios, Consumer<Result> consumer) {
+        CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (val scenario : scenarios.entrySet())
+            futures.add(completionService.submit(() -> evaluate(scenario.getKey(), scenario.getValue())));
+        try {
+            for (int i = 0; i < futures.size(); ++i)
+                consumer.accept(completionService.take().get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedEvaluationException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw (RuntimeException) e.getCause();
+        }
+        finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    public Map<String, Schedule> evaluate(Map<String, Collection<ProjectResource>> scenarios) {
+        Map<String, Schedule> result = new ConcurrentHashMap<>();
+        evaluate(scenarios, r -> result.put(r.getScenario(), r.getSchedule()));
+        return result;
+    }
+
+    private Result evaluate(String scenario, Collection<ProjectResource> resources) {
+        try {
+            return new Result(scenario, scheduleCreator.create(resources));
+        }
+        catch (RuntimeException e) {
+            throw new ScenarioFailedException(scenario, e);
+        }
+    }
+
+}
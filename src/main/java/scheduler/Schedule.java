@@ -9,7 +9,15 @@ import java.util.Map;
 @Data
 @AllArgsConstructor
 public class Schedule {
-    private Map<ProjectResource, List<Item>> resourceSchedule;
-    private Map<Item, List<ProjectResource>> itemSchedule;
+    private IntervalSchedule<ProjectResource, Item> resourceIntervals;
+    private IntervalSchedule<Item, ProjectResource> itemIntervals;
     private Float totalCost;
+
+    public Map<ProjectResource, List<Item>> getResourceSchedule() {
+        return resourceIntervals.toDense();
+    }
+
+    public Map<Item, List<ProjectResource>> getItemSchedule() {
+        return itemIntervals.toDense();
+    }
 }
@@ -1,12 +1,10 @@
 package scheduler;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.val;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.*;
 
 public class ScheduleCreator {
 
@@ -15,47 +13,98 @@ public class ScheduleCreator {
     public static class SizeLessThanMinResolutionException extends RuntimeException {
     }
 
-    private Prioritizer prioritizer = new Prioritizer();
-    private Collection<Collection<Item>> prioritizedItems;
-    @Getter private float resolution;
+    @Getter private Collection<Collection<Item>> prioritizedItems;
+    @Getter private long resolutionTicks;
     private final CostCalculator costCalculator;
+    private final Set<Item> items = Collections.newSetFromMap(new IdentityHashMap<>());
+    @Setter private boolean eventDriven = false;
 
     public ScheduleCreator(Collection<Item> items, CostCalculator costCalculator) {
-        this.prioritizedItems = prioritizer.prioritize(items);
-        this.resolution = calculateResolution(items);
+        this(new Prioritizer().prioritize(items), items, costCalculator);
+    }
+
+    private ScheduleCreator(Collection<Collection<Item>> prioritizedItems, Collection<Item> items, CostCalculator costCalculator) {
+        this.prioritizedItems = prioritizedItems;
+        this.resolutionTicks = calculateResolution(items);
         this.costCalculator = costCalculator;
+        prioritizedItems.forEach(this.items::addAll);
     }
 
-    private static int gcd(int a, int b) {
-        return a == 0 ? b : gcd(b % a, a);
+    public static ScheduleCreator ofPrioritized(Collection<Collection<Item>> prioritizedItems, CostCalculator costCalculator) {
+        List<Item> items = new ArrayList<>();
+        prioritizedItems.forEach(items::addAll);
+        return new ScheduleCreator(prioritizedItems, items, costCalculator);
     }
 
-    private static int findGCD(List<Integer> ints) {
-        int result = ints.get(0);
-        for (val i : ints)
-            result = gcd(i, result);
-        return result;
+    private static long calculateResolution(Collection<Item> items) {
+        long result = 0;
+        for (Item item : items) {
+            val size = item.getParameters().getSize();
+            if (size == null)
+                continue;
+            if (size < MIN_RESOLUTION)
+                throw new SizeLessThanMinResolutionException();
+            result = Ticks.gcd(Ticks.of(size), result);
+        }
+        return result == 0 ? Ticks.PER_UNIT : result;
     }
 
-    private static float calculateResolution(Collection<Item> items) {
-        List<Integer> sizes = items.stream()
-                .map(i -> i.getParameters().getSize())
-                .filter(Objects::nonNull)
-                .peek(s -> { if (s < MIN_RESOLUTION) throw new SizeLessThanMinResolutionException(); })
-                .map(s -> (int)(s / MIN_RESOLUTION))
-                .collect(Collectors.toList());
-        if (sizes.isEmpty())
-            return 1;
-        val intResult = findGCD(sizes);
-        return intResult * MIN_RESOLUTION;
+    public float getResolution() {
+        return (float) Ticks.toTime(resolutionTicks);
     }
 
     public Schedule create(Collection<ProjectResource> resources) {
-        val timelineFactory = new TimelineFactory(resolution, resources);
-        val timeline = timelineFactory.create(prioritizedItems);
-        val itemSchedule = ItemScheduleCreator.create(timeline);
-        val resourceSchedule = ResourceScheduleCreator.create(timeline);
-        return new Schedule(resourceSchedule, itemSchedule, costCalculator.calculate(timeline, resolution));
+        return create(resources, DispatchPlan.DEFAULT);
+    }
+
+    public Schedule create(Collection<ProjectResource> resources, DispatchPlan dispatchPlan) {
+        return create(resources, dispatchPlan, (workPackages, frames) -> {});
+    }
+
+    public Schedule create(Collection<ProjectResource> resources, DispatchPlan dispatchPlan, TimelineSink sink) {
+        compileCapacities(resources);
+        val itemSchedule = new ItemScheduleCreator();
+        val resourceSchedule = new ResourceScheduleCreator();
+        val cost = createCostAccumulator();
+        createTimelineFactory(resources, dispatchPlan).create(prioritizedItems, TimelineSink.of(itemSchedule, resourceSchedule, cost, sink));
+        return new Schedule(resourceSchedule.build(), itemSchedule.build(), cost.getCost());
+    }
+
+    public float calculateCost(Collection<ProjectResource> resources, DispatchPlan dispatchPlan) {
+        compileCapacities(resources);
+        val cost = createCostAccumulator();
+        createTimelineFactory(resources, dispatchPlan).create(prioritizedItems, cost);
+        return cost.getCost();
+    }
+
+    private TimelineFactory createTimelineFactory(Collection<ProjectResource> resources, DispatchPlan dispatchPlan) {
+        val result = TimelineFactory.ofTicks(resolutionTicks, resources);
+        result.setEventDriven(eventDriven);
+        result.setDispatchPlan(dispatchPlan);
+        return result;
+    }
+
+    private StreamingCostCalculator.Accumulator createCostAccumulator() {
+        if (costCalculator instanceof StreamingCostCalculator)
+            return ((StreamingCostCalculator) costCalculator).createAccumulator(getResolution());
+        List<List<WorkPackage>> timeline = new ArrayList<>();
+        return new StreamingCostCalculator.Accumulator() {
+            @Override
+            public void accept(List<WorkPackage> workPackages, int frames) {
+                for (int i = 0; i < frames; ++i)
+                    timeline.add(workPackages);
+            }
+
+            @Override
+            public float getCost() {
+                return costCalculator.calculate(timeline, getResolution());
+            }
+        };
+    }
+
+    private void compileCapacities(Collection<ProjectResource> resources) {
+        for (val resource : resources)
+            resource.compileCapacities(items);
     }
 
 }
@@ -0,0 +1,12 @@
+package scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ScheduleInterval<T> {
+    private int start;
+    private int end;
+    private T counterpart;
+}
@@ -0,0 +1,19 @@
+package scheduler;
+
+import java.util.List;
+
+public interface StreamingCostCalculator extends CostCalculator {
+
+    interface Accumulator extends TimelineSink {
+        float getCost();
+    }
+
+    Accumulator createAccumulator(float resolution);
+
+    @Override
+    default float calculate(List<List<WorkPackage>> timeline, float resolution) {
+        Accumulator accumulator = createAccumulator(resolution);
+        accumulator.acceptAll(timeline);
+        return accumulator.getCost();
+    }
+}
@@ -0,0 +1,63 @@
+package scheduler;
+
+import lombok.val;
+
+import java.util.Arrays;
+
+class StronglyConnectedComponents {
+
+    private static final int UNVISITED = -1;
+
+    static int[] of(int[][] successors) {
+        val size = successors.length;
+        int[] index = new int[size];
+        int[] low = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int[] callNodes = new int[size];
+        int[] callEdges = new int[size];
+        Arrays.fill(index, UNVISITED);
+        int stackSize = 0;
+        int counter = 0;
+        int components = 0;
+        for (int root = 0; root < size; ++root) {
+            if (index[root] != UNVISITED)
+                continue;
+            int depth = 0;
+            callNodes[0] = root;
+            callEdges[0] = 0;
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                val node = callNodes[depth];
+                if (callEdges[depth] < successors[node].length) {
+                    val next = successors[node][callEdges[depth]++];
+                    if (index[next] == UNVISITED) {
+                        index[next] = low[next] = counter++;
+                        stack[stackSize++] = next;
+                        onStack[next] = true;
+                        callNodes[++depth] = next;
+                        callEdges[depth] = 0;
+                    }
+                    else if (onStack[next])
+                        low[node] = Math.min(low[node], index[next]);
+                    continue;
+                }
+                if (low[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component[member] = components;
+                    } while (member != node);
+                    components++;
+                }
+                if (--depth >= 0)
+                    low[callNodes[depth]] = Math.min(low[callNodes[depth]], low[node]);
+            }
+        }
+        return component;
+    }
+}
@@ -0,0 +1,23 @@
+package scheduler;
+
+public class Ticks {
+
+    public static final long PER_UNIT = 100_000L;
+
+    public static long of(double time) {
+        return Math.round(time * PER_UNIT);
+    }
+
+    public static double toTime(long ticks) {
+        return ticks / (double) PER_UNIT;
+    }
+
+    public static long gcd(long a, long b) {
+        while (a != 0) {
+            long remainder = b % a;
+            b = a;
+            a = remainder;
+        }
+        return b;
+    }
+}
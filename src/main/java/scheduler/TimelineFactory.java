@@ -11,54 +11,127 @@ public class TimelineFactory {
     public static class ExceededMaxInactivityException extends RuntimeException {
     }
 
-    private float resolution;
+    private static final int STEADY_FRAMES_MARGIN = 2;
+
+    private final long resolution;
     private final Collection<ProjectResource> resources;
     @Setter private float maxInactivity = 100.0f;
+    @Setter private boolean eventDriven = false;
+    @Setter private DispatchPlan dispatchPlan = DispatchPlan.DEFAULT;
+
+    class ActivityGuard {
+        long inactivityTicks = 0;
 
-    private class ActivityGuard {
-        float inactivityTime = 0.0f;
+        ActivityGuard() {
+        }
+
+        ActivityGuard(ActivityGuard other) {
+            inactivityTicks = other.inactivityTicks;
+        }
 
         void update(List<WorkPackage> workPackages) {
+            update(workPackages, 1);
+        }
+
+        void update(List<WorkPackage> workPackages, int frames) {
             if (workPackages.isEmpty())
-                inactivityTime += resolution;
+                inactivityTicks = Math.addExact(inactivityTicks, Math.multiplyExact(resolution, frames));
             else
-                inactivityTime = 0.0f;
-            if (inactivityTime > maxInactivity)
+                inactivityTicks = 0;
+            if (inactivityTicks > Ticks.of(maxInactivity))
                 throw new ExceededMaxInactivityException();
         }
     }
 
     public TimelineFactory(float resolution, Collection<ProjectResource> resources) {
+        this(resources, Ticks.of(resolution));
+    }
+
+    private TimelineFactory(Collection<ProjectResource> resources, long resolution) {
         this.resolution = resolution;
         this.resources = resources;
     }
 
+    public static TimelineFactory ofTicks(long resolution, Collection<ProjectResource> resources) {
+        return new TimelineFactory(resources, resolution);
+    }
+
     public List<List<WorkPackage>> create(Collection<Collection<Item>> prioritizedGroups) {
         List<List<WorkPackage>> result = new ArrayList<>();
-        val board = new Board(createTodoList(prioritizedGroups), resources);
+        create(prioritizedGroups, (workPackages, frames) -> {
+            for (int i = 0; i < frames; ++i)
+                result.add(workPackages);
+        });
+        return result;
+    }
+
+    public void create(Collection<Collection<Item>> prioritizedGroups, TimelineSink sink) {
+        val board = createBoard(prioritizedGroups);
         val activityGuard = new ActivityGuard();
-        while (!board.getTodo().isEmpty() || !board.getOngoing().isEmpty()) {
-            deallocateRedundant(board);
-            for (val allocation : sortByImpact(board.getIndependentTodo()))
-                allocate(allocation, board);
-            for (val allocation : sortByImpact(board.getSpareOngoing()))
-                allocate(allocation, board);
-            val workPackages = increaseTime(board);
+        while (!board.isFinished()) {
+            dispatch(board, 0);
+            val doneCount = board.getDone().size();
+            val workPackages = increaseTime(board, 1);
             activityGuard.update(workPackages);
-            result.add(workPackages);
+            sink.accept(workPackages, 1);
+            if (eventDriven && board.getDone().size() == doneCount)
+                skipSteadyFrames(board, activityGuard, sink);
         }
-        return result;
     }
 
-    private List<WorkPackage> increaseTime(Board board) {
-        val workDone = board.increaseTime(resolution);
+    Board createBoard(Collection<Collection<Item>> prioritizedGroups) {
+        return new Board(createTodoList(prioritizedGroups), resources, dispatchPlan);
+    }
+
+    void dispatch(Board board, int firstChoice) {
+        deallocateRedundant(board);
+        val independentTodo = board.getIndependentTodo();
+        if (firstChoice > 0)
+            independentTodo.add(0, independentTodo.remove(firstChoice));
+        for (val allocation : independentTodo)
+            allocate(allocation, board);
+        for (val allocation : board.getSpareOngoing())
+            allocate(allocation, board);
+    }
+
+    List<WorkPackage> increaseTime(Board board, int frames) {
+        val workDone = board.increaseTicks(resolution, frames);
         return workDone.stream().filter(p -> p.getWorkDone() > 0.0f).collect(Collectors.toList());
     }
 
-    private List<Board.Allocation> sortByImpact(List<Board.Allocation> allocations) {
-        List<Board.Allocation> result = new ArrayList<>(allocations);
-        result.sort((a, b) -> Float.compare(b.getItem().getTotalDependentSize(), a.getItem().getTotalDependentSize()));
-        return result;
+    private void skipSteadyFrames(Board board, ActivityGuard activityGuard, TimelineSink sink) {
+        val frames = countSteadyFrames(board);
+        if (frames <= 0)
+            return;
+        val workPackages = increaseTime(board, frames);
+        activityGuard.update(workPackages, frames);
+        sink.accept(workPackages, frames);
+    }
+
+    private int countSteadyFrames(Board board) {
+        long result = Long.MAX_VALUE;
+        boolean working = false;
+        for (val allocation : board.getOngoing()) {
+            val rate = allocation.assignedResources.stream()
+                    .mapToDouble(r -> r.getTickCapacity(allocation.getItem(), board.getTicks(), resolution))
+                    .sum();
+            if (rate > 0) {
+                result = Math.min(result, (long) Math.floor(Ticks.toTime(allocation.getTodoTicks()) / rate) - STEADY_FRAMES_MARGIN);
+                working = true;
+            }
+        }
+        if (!working)
+            result = Math.min(result, ceilDiv(Ticks.of(maxInactivity), resolution) + 1);
+        for (val resource : resources) {
+            val boundary = resource.getNextInterruptionBoundaryTick(board.getTicks());
+            if (boundary != Long.MAX_VALUE)
+                result = Math.min(result, Math.floorDiv(boundary - board.getTicks(), resolution) - STEADY_FRAMES_MARGIN);
+        }
+        return (int) Math.max(0, Math.min(result, Integer.MAX_VALUE));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
     }
 
     private static List<Item> createTodoList(Collection<Collection<Item>> prioritizedGroups) {
@@ -71,14 +144,17 @@ public class TimelineFactory {
 
     private void allocate(Board.Allocation allocation, Board board) {
         double currentCapacity = allocation.assignedResources.stream()
-                .mapToDouble(r -> r.getCapacity(allocation.getItem(), board.getTime(), resolution))
+                .mapToDouble(r -> r.getTickCapacity(allocation.getItem(), board.getTicks(), resolution))
                 .sum();
         val maxThreads = allocation.item.getParameters().getThreads();
-        Deque<ProjectResource> resources = new ArrayDeque<>(board.getSortedFreeResources(allocation.item, resolution));
-        while (!resources.isEmpty() && currentCapacity < allocation.todo && allocation.assignedResources.size() < maxThreads) {
+        Deque<ProjectResource> resources = new ArrayDeque<>(board.getSortedFreeResourcesForTicks(allocation.item, resolution));
+        val preferred = dispatchPlan.getPreferredResource(allocation.item);
+        if (preferred != null && resources.remove(preferred))
+            resources.push(preferred);
+        while (!resources.isEmpty() && currentCapacity < allocation.getTodo() && allocation.assignedResources.size() < maxThreads) {
             val resource = resources.pop();
             board.allocate(allocation, resource);
-            currentCapacity += resource.getCapacity(allocation.getItem(), board.getTime(), resolution);
+            currentCapacity += resource.getTickCapacity(allocation.getItem(), board.getTicks(), resolution);
         }
     }
 
@@ -87,8 +163,8 @@ public class TimelineFactory {
             float capacity = 0;
             List<ProjectResource> redundant = new ArrayList<>();
             for (ProjectResource resource : allocation.assignedResources) {
-                capacity += resource.getCapacity(allocation.getItem(), board.getTime(), resolution);
-                if (capacity > allocation.todo)
+                capacity += resource.getTickCapacity(allocation.getItem(), board.getTicks(), resolution);
+                if (capacity > allocation.getTodo())
                     redundant.add(resource);
             }
             for (ProjectResource resource : redundant)
@@ -0,0 +1,21 @@
+package scheduler;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface TimelineSink {
+
+    void accept(List<WorkPackage> workPackages, int frames);
+
+    default void acceptAll(List<List<WorkPackage>> timeline) {
+        for (List<WorkPackage> workPackages : timeline)
+            accept(workPackages, 1);
+    }
+
+    static TimelineSink of(TimelineSink... sinks) {
+        return (workPackages, frames) -> {
+            for (TimelineSink sink : sinks)
+                sink.accept(workPackages, frames);
+        };
+    }
+}
@@ -1,21 +1,75 @@
 package scheduler.capacity;
 
-import lombok.AllArgsConstructor;
+import lombok.val;
 import scheduler.Item;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
-@AllArgsConstructor
 public class CapacityCalculator {
     private List<CapacityProvider> providers;
+    private volatile CapacityTable table;
+
+    public CapacityCalculator(List<CapacityProvider> providers) {
+        this.providers = providers;
+    }
 
     public CapacityCalculator() {
         providers = Collections.singletonList(new StaticCapacityProvider(1.0f));
     }
 
+    public static CapacityCalculator precompiled(Set<Item> items, Map<Item, Float> capacities) {
+        val table = new CapacityTable(items, capacities);
+        val result = new CapacityCalculator(Collections.singletonList(table::get));
+        result.table = table;
+        return result;
+    }
+
+    public void compile(Set<Item> items) {
+        if (isCompiled(items))
+            return;
+        synchronized (this) {
+            if (!isCompiled(items))
+                table = createTable(items);
+        }
+    }
+
+    private boolean isCompiled(Set<Item> items) {
+        val compiled = table;
+        return compiled != null && compiled.coversAll(items);
+    }
+
+    private CapacityTable createTable(Set<Item> items) {
+        List<CapacityProvider> others = new ArrayList<>();
+        val skills = SkillCapacities.index(items, providers, others);
+        Map<Item, Float> capacities = new IdentityHashMap<>();
+        for (val item : items) {
+            val capacity = skills == null ? compute(item) : compute(item, skills, others);
+            if (capacity != 0.0f)
+                capacities.put(item, capacity);
+        }
+        return new CapacityTable(items, capacities);
+    }
+
     public float calculate(Item item) {
+        val compiled = table;
+        if (compiled != null && compiled.covers(item))
+            return compiled.get(item);
+        return compute(item);
+    }
+
+    private static float compute(Item item, SkillCapacities skills, List<CapacityProvider> others) {
+        float result = skills.provide(item);
+        for (val provider : others)
+            result = Math.max(result, provider.provide(item));
+        return result;
+    }
+
+    private float compute(Item item) {
         return (float) providers.stream()
                 .mapToDouble(p -> p.provide(item))
                 .max()
@@ -0,0 +1,49 @@
+package scheduler.capacity;
+
+import lombok.val;
+import scheduler.Item;
+
+import java.util.Map;
+import java.util.Set;
+
+public class CapacityTable {
+    private final Set<Item> domain;
+    private final Item[] keys;
+    private final float[] values;
+    private final int mask;
+
+    CapacityTable(Set<Item> domain, Map<Item, Float> capacities) {
+        this.domain = domain;
+        int size = Integer.highestOneBit(Math.max(1, capacities.size() * 2 - 1)) << 1;
+        keys = new Item[size];
+        values = new float[size];
+        mask = size - 1;
+        for (val entry : capacities.entrySet()) {
+            int slot = slotOf(entry.getKey());
+            while (keys[slot] != null)
+                slot = (slot + 1) & mask;
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+    }
+
+    public boolean covers(Item item) {
+        return domain.contains(item);
+    }
+
+    public boolean coversAll(Set<Item> items) {
+        return domain == items || domain.containsAll(items);
+    }
+
+    public float get(Item item) {
+        for (int slot = slotOf(item); keys[slot] != null; slot = (slot + 1) & mask)
+            if (keys[slot] == item)
+                return values[slot];
+        return 0.0f;
+    }
+
+    private int slotOf(Item item) {
+        val hash = System.identityHashCode(item);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -1,15 +1,33 @@
 package scheduler.capacity;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Getter;
 import scheduler.Item;
 
-@AllArgsConstructor
+@Getter(AccessLevel.PACKAGE)
 public class NameContainsProvider implements CapacityProvider {
     private String string;
     private float capacity;
+    private SkillMatcher matcher;
+    private int pattern;
+
+    public NameContainsProvider(String string, float capacity) {
+        this.string = string;
+        this.capacity = capacity;
+    }
+
+    public NameContainsProvider(String string, float capacity, SkillMatcher matcher) {
+        this(string, capacity);
+        this.matcher = matcher;
+        this.pattern = matcher.register(string);
+    }
 
     @Override
     public float provide(Item item) {
-        return item.getParameters().getName().contains(string) ? capacity : 0.0f;
+        return contains(item.getParameters().getName()) ? capacity : 0.0f;
+    }
+
+    private boolean contains(String name) {
+        return matcher == null ? name.contains(string) : matcher.matches(name, pattern);
     }
 }
@@ -0,0 +1,94 @@
+package scheduler.capacity;
+
+import lombok.val;
+import scheduler.Item;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class SkillCapacities {
+    private final SkillMatcher matcher;
+    private Map<String, long[]> masks;
+    private float[] containing = new float[0];
+    private int[] containingRules = new int[0];
+    private int[] notContaining = new int[0];
+    private float[] notContainingCapacities = new float[0];
+    private int rules = 0;
+
+    private SkillCapacities(SkillMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    static SkillCapacities index(Set<Item> items, List<CapacityProvider> providers, List<CapacityProvider> others) {
+        SkillCapacities result = null;
+        for (val provider : providers) {
+            val matcher = matcherOf(provider);
+            if (matcher != null && result == null)
+                result = new SkillCapacities(matcher);
+            if (matcher == null || matcher != result.matcher)
+                others.add(provider);
+            else if (provider instanceof NameContainsProvider)
+                result.addContaining((NameContainsProvider) provider);
+            else
+                result.addNotContaining((NameNotContainsProvider) provider);
+        }
+        if (result != null)
+            result.masks = result.matcher.getMasks(items);
+        return result;
+    }
+
+    private static SkillMatcher matcherOf(CapacityProvider provider) {
+        if (provider instanceof NameContainsProvider)
+            return ((NameContainsProvider) provider).getMatcher();
+        if (provider instanceof NameNotContainsProvider)
+            return ((NameNotContainsProvider) provider).getMatcher();
+        return null;
+    }
+
+    private void addContaining(NameContainsProvider provider) {
+        val pattern = provider.getPattern();
+        if (pattern >= containing.length) {
+            containing = Arrays.copyOf(containing, pattern + 1);
+            containingRules = Arrays.copyOf(containingRules, pattern + 1);
+        }
+        containing[pattern] = containingRules[pattern] == 0 ? provider.getCapacity() : Math.max(containing[pattern], provider.getCapacity());
+        containingRules[pattern]++;
+        rules++;
+    }
+
+    private void addNotContaining(NameNotContainsProvider provider) {
+        val count = notContaining.length;
+        notContaining = Arrays.copyOf(notContaining, count + 1);
+        notContainingCapacities = Arrays.copyOf(notContainingCapacities, count + 1);
+        notContaining[count] = provider.getPattern();
+        notContainingCapacities[count] = provider.getCapacity();
+        rules++;
+    }
+
+    float provide(Item item) {
+        val name = item.getParameters().getName();
+        val known = masks.get(name);
+        val mask = known != null ? known : matcher.getMask(name);
+        float result = Float.NEGATIVE_INFINITY;
+        int matched = 0;
+        for (int word = 0; word < mask.length; ++word) {
+            for (long bits = mask[word]; bits != 0; bits &= bits - 1) {
+                val pattern = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (pattern < containing.length && containingRules[pattern] > 0) {
+                    result = Math.max(result, containing[pattern]);
+                    matched += containingRules[pattern];
+                }
+            }
+        }
+        for (int i = 0; i < notContaining.length; ++i) {
+            val pattern = notContaining[i];
+            if ((mask[pattern >>> 6] & (1L << pattern)) == 0) {
+                result = Math.max(result, notContainingCapacities[i]);
+                matched++;
+            }
+        }
+        return matched < rules ? Math.max(result, 0.0f) : result;
+    }
+}
@@ -0,0 +1,161 @@
+package scheduler.capacity;
+
+import lombok.val;
+import scheduler.Item;
+
+import java.util.*;
+
+public class SkillMatcher {
+
+    private static final int ROOT = 0;
+
+    private final List<String> patterns = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private volatile Automaton automaton;
+    private volatile Masks masks;
+
+    public synchronized int register(String pattern) {
+        val existing = indexes.get(pattern);
+        if (existing != null)
+            return existing;
+        val result = patterns.size();
+        patterns.add(pattern);
+        indexes.put(pattern, result);
+        automaton = null;
+        return result;
+    }
+
+    public boolean matches(String name, int pattern) {
+        val mask = getMask(name);
+        return (mask[pattern >>> 6] & (1L << pattern)) != 0;
+    }
+
+    long[] getMask(String name) {
+        return getAutomaton().getMask(name);
+    }
+
+    Map<String, long[]> getMasks(Set<Item> items) {
+        val current = masks;
+        val compiled = getAutomaton();
+        if (current != null && current.items == items && current.automaton == compiled)
+            return current.byName;
+        Map<String, long[]> result = new HashMap<>();
+        for (val item : items)
+            result.computeIfAbsent(item.getParameters().getName(), compiled::getMask);
+        masks = new Masks(items, compiled, result);
+        return result;
+    }
+
+    private Automaton getAutomaton() {
+        val current = automaton;
+        return current != null ? current : compile();
+    }
+
+    private synchronized Automaton compile() {
+        if (automaton == null)
+            automaton = new Automaton(patterns);
+        return automaton;
+    }
+
+    private static class Masks {
+        private final Set<Item> items;
+        private final Automaton automaton;
+        private final Map<String, long[]> byName;
+
+        Masks(Set<Item> items, Automaton automaton, Map<String, long[]> byName) {
+            this.items = items;
+            this.automaton = automaton;
+            this.byName = byName;
+        }
+    }
+
+    private static class Automaton {
+        private final char[][] labels;
+        private final int[][] targets;
+        private final int[] failures;
+        private final int[][] outputs;
+        private final int words;
+
+        Automaton(List<String> patterns) {
+            List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+            List<List<Integer>> matched = new ArrayList<>();
+            trie.add(new TreeMap<>());
+            matched.add(new ArrayList<>());
+            for (int p = 0; p < patterns.size(); ++p) {
+                int node = ROOT;
+                for (val c : patterns.get(p).toCharArray()) {
+                    Integer next = trie.get(node).get(c);
+                    if (next == null) {
+                        next = trie.size();
+                        trie.get(node).put(c, next);
+                        trie.add(new TreeMap<>());
+                        matched.add(new ArrayList<>());
+                    }
+                    node = next;
+                }
+                matched.get(node).add(p);
+            }
+            val size = trie.size();
+            labels = new char[size][];
+            targets = new int[size][];
+            failures = new int[size];
+            outputs = new int[size][];
+            for (int node = 0; node < size; ++node) {
+                val edges = trie.get(node);
+                labels[node] = new char[edges.size()];
+                targets[node] = new int[edges.size()];
+                int i = 0;
+                for (val edge : edges.entrySet()) {
+                    labels[node][i] = edge.getKey();
+                    targets[node][i++] = edge.getValue();
+                }
+            }
+            outputs[ROOT] = matched.get(ROOT).stream().mapToInt(Integer::intValue).toArray();
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (val child : targets[ROOT]) {
+                failures[child] = ROOT;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                List<Integer> output = new ArrayList<>(matched.get(node));
+                for (val p : outputs[failures[node]])
+                    output.add(p);
+                outputs[node] = output.stream().mapToInt(Integer::intValue).toArray();
+                for (int i = 0; i < labels[node].length; ++i) {
+                    val child = targets[node][i];
+                    failures[child] = next(failures[node], labels[node][i]);
+                    queue.add(child);
+                }
+            }
+            words = Math.max(1, (patterns.size() + 63) >>> 6);
+        }
+
+        private int step(int node, char c) {
+            val index = Arrays.binarySearch(labels[node], c);
+            return index >= 0 ? targets[node][index] : -1;
+        }
+
+        private int next(int node, char c) {
+            while (true) {
+                val target = step(node, c);
+                if (target >= 0)
+                    return target;
+                if (node == ROOT)
+                    return ROOT;
+                node = failures[node];
+            }
+        }
+
+        long[] getMask(String name) {
+            val result = new long[words];
+            int node = ROOT;
+            for (int i = 0; i < name.length(); ++i) {
+                node = next(node, name.charAt(i));
+                for (val p : outputs[node])
+                    result[p >>> 6] |= 1L << p;
+            }
+            return result;
+        }
+    }
+}
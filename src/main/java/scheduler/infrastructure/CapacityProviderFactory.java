@@ -21,6 +21,8 @@ public class CapacityProviderFactory {
         }
     }
 
+    private final SkillMatcher matcher = new SkillMatcher();
+
     private static final Pattern PATTERN = Pattern.compile("^\\s*(in\\s+group\\s+)?(any|(?:not\\s+)?containing)\\s*(.*)$", Pattern.CASE_INSENSITIVE);
 
     @AllArgsConstructor
@@ -41,7 +43,7 @@ public class CapacityProviderFactory {
         throw new UnrecognizedSkillException(description);
     }
 
-    private static CapacityProvider createProvider(ParsedResult parsed, float capacity) {
+    private CapacityProvider createProvider(ParsedResult parsed, float capacity) {
         if (parsed != null) {
             switch (parsed.matcher) {
                 case "any":
@@ -49,11 +51,11 @@ public class CapacityProviderFactory {
                 case "containing":
                     if (parsed.value.isEmpty())
                         throw new NoParameterException(parsed.matcher);
-                    return new NameContainsProvider(parsed.value, capacity);
+                    return new NameContainsProvider(parsed.value, capacity, matcher);
                 case "not containing":
                     if (parsed.value.isEmpty())
                         throw new NoParameterException(parsed.matcher);
-                    return new NameNotContainsProvider(parsed.value, capacity);
+                    return new NameNotContainsProvider(parsed.value, capacity, matcher);
             }
         }
         return null;
@@ -0,0 +1,55 @@
+package scheduler.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@AllArgsConstructor
+class ChunkedMatrixParser {
+
+    @FunctionalInterface
+    interface ChunkParser<T> {
+        T parse(MatrixCursor cursor, boolean leading);
+    }
+
+    private final ExecutorService executor;
+    private final int chunks;
+
+    @SneakyThrows
+    <T> List<T> parse(MatrixReader reader, ChunkParser<T> parser) {
+        if (executor == null || chunks <= 1 || !(reader instanceof SplittableMatrixReader))
+            return Collections.singletonList(parser.parse(MatrixCursor.open(reader), true));
+        val cursors = ((SplittableMatrixReader) reader).open(chunks, ChunkedMatrixParser::startsGroup);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < cursors.size(); ++i) {
+            val cursor = cursors.get(i);
+            val leading = i == 0;
+            futures.add(executor.submit(() -> parser.parse(cursor, leading)));
+        }
+        List<T> result = new ArrayList<>();
+        try {
+            for (val future : futures)
+                result.add(future.get());
+        }
+        catch (ExecutionException e) {
+            throw e.getCause();
+        }
+        finally {
+            for (val future : futures)
+                future.cancel(true);
+        }
+        return result;
+    }
+
+    private static boolean startsGroup(MatrixCursor cursor) {
+        val id = cursor.get(0);
+        return id != null && !id.trim().isEmpty();
+    }
+}
@@ -0,0 +1,23 @@
+package scheduler.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import scheduler.Item;
+import scheduler.Prioritizer;
+import scheduler.ProjectResource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class CompiledModel {
+    private final Map<String, Item> items;
+    private final Collection<Collection<Item>> prioritizedItems;
+    private final List<ProjectResource> resources;
+
+    public static CompiledModel compile(Map<String, Item> items, List<ProjectResource> resources) {
+        return new CompiledModel(items, new Prioritizer().prioritize(items.values()), resources);
+    }
+}
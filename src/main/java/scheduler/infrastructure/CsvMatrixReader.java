@@ -2,28 +2,40 @@ package scheduler.infrastructure;
 
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.val;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
 
 @AllArgsConstructor
-public class CsvMatrixReader implements MatrixReader {
+public class CsvMatrixReader implements StreamingMatrixReader {
     private Reader reader;
 
     @SneakyThrows
     @Override
-    public List<List<String>> read() {
-        List<List<String>> result = new ArrayList<>();
-        Iterable<CSVRecord> records = CSVFormat.RFC4180.parse(reader);
-        for (CSVRecord record : records) {
-            List<String> row = new ArrayList<>();
-            for (String elem : record)
-                row.add(elem);
-            result.add(row);
-        }
-        return result;
+    public MatrixCursor open() {
+        val records = CSVFormat.RFC4180.parse(reader).iterator();
+        return new MatrixCursor() {
+            CSVRecord current;
+
+            @Override
+            public boolean next() {
+                if (!records.hasNext())
+                    return false;
+                current = records.next();
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return current.size();
+            }
+
+            @Override
+            public String get(int column) {
+                return current.get(column);
+            }
+        };
     }
 }
@@ -0,0 +1,41 @@
+package scheduler.infrastructure;
+
+import lombok.SneakyThrows;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import scheduler.Item;
+import scheduler.ProjectResource;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class CsvScheduleWriter extends ScheduleRecordWriter {
+
+    private final CSVPrinter printer;
+
+    @SneakyThrows
+    public CsvScheduleWriter(Writer writer, long resolution) {
+        super(resolution);
+        printer = new CSVPrinter(writer, CSVFormat.RFC4180);
+    }
+
+    @Override
+    protected void writeHeader() throws IOException {
+        printer.printRecord("item", "resource", "start", "end", "work done");
+    }
+
+    @Override
+    protected void writeRecord(Item item, ProjectResource resource, float start, float end, float workDone) throws IOException {
+        printer.print(item.getId());
+        printer.print(resource.getId());
+        printer.print(Float.toString(start));
+        printer.print(Float.toString(end));
+        printer.print(Float.toString(workDone));
+        printer.println();
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        printer.close();
+    }
+}
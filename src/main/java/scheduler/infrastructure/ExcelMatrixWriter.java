@@ -4,6 +4,8 @@ import lombok.*;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -16,11 +18,39 @@ import java.nio.file.Path;
 import java.util.*;
 
 public class ExcelMatrixWriter {
+
+    public static final int DEFAULT_WINDOW = 100;
+
+    private static final short FONT_HEIGHT = 8;
+    private static final double DEFAULT_FONT_HEIGHT = 11.0;
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
     private final Path path;
     private final Map<String, Collection<Variant>> cases = new HashMap<>();
+    private final SXSSFWorkbook streamingWorkbook;
+    private final Map<String, StreamingSheet> streamingSheets = new HashMap<>();
+    private CellStyle streamingStyle;
 
     public ExcelMatrixWriter(Path path) {
         this.path = path;
+        this.streamingWorkbook = null;
+    }
+
+    private ExcelMatrixWriter(Path path, int window) {
+        this.path = path;
+        this.streamingWorkbook = new SXSSFWorkbook(window);
+    }
+
+    public static ExcelMatrixWriter streaming(Path path) {
+        return streaming(path, DEFAULT_WINDOW);
+    }
+
+    public static ExcelMatrixWriter streaming(Path path, int window) {
+        return new ExcelMatrixWriter(path, window);
+    }
+
+    public interface Section {
+        void addRow(List<String> row);
     }
 
     @AllArgsConstructor
@@ -32,13 +62,31 @@ public class ExcelMatrixWriter {
     }
 
     public void addSection(String sheet, String section, List<List<String>> result) {
-        cases
-                .computeIfAbsent(sheet, name -> new ArrayList<>())
-                .add(new Variant(section, result));
+        if (streamingWorkbook == null) {
+            cases
+                    .computeIfAbsent(sheet, name -> new ArrayList<>())
+                    .add(new Variant(section, result));
+            return;
+        }
+        val streamed = openSection(sheet, section);
+        for (val row : result)
+            streamed.addRow(row);
+    }
+
+    public Section openSection(String sheet, String section) {
+        if (streamingWorkbook == null) {
+            List<List<String>> data = new ArrayList<>();
+            addSection(sheet, section, data);
+            return data::add;
+        }
+        if (streamingStyle == null)
+            streamingStyle = createStyle(streamingWorkbook);
+        val target = streamingSheets.computeIfAbsent(sheet, name -> new StreamingSheet(streamingWorkbook, name, streamingStyle));
+        target.beginSection(section);
+        return target::addRow;
     }
 
     private static class Sheet {
-        XSSFWorkbook workbook;
         XSSFSheet sheet;
         int rowNum = 0;
         int colNum = 0;
@@ -48,14 +96,9 @@ public class ExcelMatrixWriter {
 
         CellStyle defaultStyle;
 
-        Sheet(XSSFWorkbook workbook, String name) {
-            this.workbook = workbook;
+        Sheet(XSSFWorkbook workbook, String name, CellStyle defaultStyle) {
             sheet = workbook.createSheet(name);
-
-            val font = workbook.createFont();
-            font.setFontHeight(8.0);
-            defaultStyle = workbook.createCellStyle();
-            defaultStyle.setFont(font);
+            this.defaultStyle = defaultStyle;
         }
 
         void nextRow() {
@@ -65,8 +108,6 @@ public class ExcelMatrixWriter {
 
         void nextCell() {
             cell = row.createCell(colNum++);
-            val font = workbook.createFont();
-            font.setFontHeight(8.0);
             cell.setCellStyle(defaultStyle);
         }
 
@@ -82,15 +123,89 @@ public class ExcelMatrixWriter {
         }
     }
 
+    private static class StreamingSheet {
+        org.apache.poi.ss.usermodel.Sheet sheet;
+        int rowNum = 0;
+        int colNum = 0;
+        int sections = 0;
+        int[] widths = new int[16];
+        Row row;
+        Cell cell;
+
+        CellStyle defaultStyle;
+
+        StreamingSheet(Workbook workbook, String name, CellStyle defaultStyle) {
+            sheet = workbook.createSheet(name);
+            this.defaultStyle = defaultStyle;
+        }
+
+        void beginSection(String name) {
+            if (sections++ > 0)
+                nextRow();
+            nextRow();
+            nextCell();
+            set(name);
+        }
+
+        void addRow(List<String> values) {
+            nextRow();
+            for (val value : values) {
+                nextCell();
+                set(value);
+            }
+        }
+
+        void nextRow() {
+            colNum = 0;
+            row = sheet.createRow(rowNum++);
+        }
+
+        void nextCell() {
+            cell = row.createCell(colNum++);
+            cell.setCellStyle(defaultStyle);
+        }
+
+        void set(String value) {
+            cell.setCellValue(value);
+            if (colNum > widths.length)
+                widths = Arrays.copyOf(widths, Math.max(colNum, widths.length * 2));
+            if (value != null && value.length() > widths[colNum - 1])
+                widths[colNum - 1] = value.length();
+        }
+
+        void estimateColumnWidths() {
+            for (int i = 0; i < widths.length; ++i)
+                if (widths[i] > 0)
+                    sheet.setColumnWidth(i, estimateWidth(widths[i]));
+        }
+
+        private static int estimateWidth(int characters) {
+            return (int) Math.min(MAX_COLUMN_WIDTH, (characters * FONT_HEIGHT / DEFAULT_FONT_HEIGHT + 2) * 256);
+        }
+    }
+
+    private static CellStyle createStyle(Workbook workbook) {
+        val font = workbook.createFont();
+        font.setFontHeightInPoints(FONT_HEIGHT);
+        val result = workbook.createCellStyle();
+        result.setFont(font);
+        return result;
+    }
+
     private static XSSFWorkbook createWorkbook() {
         return new XSSFWorkbook();
     }
 
     @SneakyThrows
     public void write() {
+        if (streamingWorkbook != null) {
+            writeStreaming();
+            return;
+        }
         val workbook = createWorkbook();
+        val style = createStyle(workbook);
         for (val entry : cases.entrySet()) {
-            val sheet = new Sheet(workbook, entry.getKey());
+            val sheet = new Sheet(workbook, entry.getKey(), style);
             for (val variant : entry.getValue()) {
                 sheet.nextRow();
                 sheet.nextCell();
@@ -110,4 +225,18 @@ public class ExcelMatrixWriter {
             workbook.write(output);
         }
     }
+
+    @SneakyThrows
+    private void writeStreaming() {
+        for (val sheet : streamingSheets.values()) {
+            sheet.nextRow();
+            sheet.estimateColumnWidths();
+        }
+        try (val output = Files.newOutputStream(path)) {
+            streamingWorkbook.write(output);
+        }
+        finally {
+            streamingWorkbook.dispose();
+        }
+    }
 }
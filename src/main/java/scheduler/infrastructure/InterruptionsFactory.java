@@ -1,10 +1,9 @@
 package scheduler.infrastructure;
 
-import javafx.util.Pair;
+import scheduler.Interruptions;
 
-import java.util.List;
 import java.util.Map;
 
 public interface InterruptionsFactory {
-    Map<String, List<Pair<Float, Float>>> create();
+    Map<String, Interruptions> create();
 }
@@ -1,7 +1,10 @@
 package scheduler.infrastructure;
 
 import lombok.AllArgsConstructor;
+import lombok.Setter;
 import scheduler.Item;
+import scheduler.ItemValidator;
+import scheduler.ReachabilityIndex;
 
 import java.util.*;
 import java.util.function.Function;
@@ -52,6 +55,8 @@ public class ItemBuilder {
     }
 
     private final Map<String, Placeholder> placeholders = new HashMap<>();
+    @Setter private boolean frozen = false;
+    @Setter private boolean bulk = false;
 
     public void add(Placeholder placeholder) {
         assertValidPlaceholder(placeholder);
@@ -75,21 +80,57 @@ public class ItemBuilder {
         Map<String, Item> itemMap = placeholders.values().stream()
                 .map(v -> new Item(v.id, new Item.Parameters(v.name, v.size, v.threads)))
                 .collect(Collectors.toMap(Item::getId, Function.identity()));
+        if (bulk)
+            linkInBulk(itemMap);
+        else
+            link(itemMap);
+        if (frozen)
+            ReachabilityIndex.freeze(itemMap.values());
+        return itemMap;
+    }
+
+    private void link(Map<String, Item> itemMap) {
+        for (Placeholder placeholder : placeholders.values()) {
+            Item item = itemMap.get(placeholder.id);
+            for (String childId : placeholder.childIds)
+                item.addChild(getChild(itemMap, childId));
+            for (String depId : placeholder.dependencyIds)
+                item.addDependency(getDependency(itemMap, depId));
+        }
+    }
+
+    private void linkInBulk(Map<String, Item> itemMap) {
+        Map<Item, Item> parents = new HashMap<>();
+        Map<Item, List<Item>> children = new HashMap<>();
+        Map<Item, List<Item>> dependencies = new HashMap<>();
+        Map<Item, List<Item>> impacted = new HashMap<>();
         for (Placeholder placeholder : placeholders.values()) {
             Item item = itemMap.get(placeholder.id);
             for (String childId : placeholder.childIds) {
-                Item child = itemMap.get(childId);
-                if (child == null)
-                    throw new NonExistingIdAsChildException(childId);
-                item.addChild(child);
+                Item child = getChild(itemMap, childId);
+                parents.put(child, item);
+                children.computeIfAbsent(item, k -> new ArrayList<>()).add(child);
             }
             for (String depId : placeholder.dependencyIds) {
-                Item dependency = itemMap.get(depId);
-                if (dependency == null)
-                    throw new NonExistingIdAsDependencyException(depId);
-                item.addDependency(dependency);
+                Item dependency = getDependency(itemMap, depId);
+                dependencies.computeIfAbsent(item, k -> new ArrayList<>()).add(dependency);
+                impacted.computeIfAbsent(dependency, k -> new ArrayList<>()).add(item);
             }
         }
-        return itemMap;
+        ItemValidator.restore(itemMap.values(), parents, children, dependencies, impacted);
+    }
+
+    private static Item getChild(Map<String, Item> itemMap, String childId) {
+        Item child = itemMap.get(childId);
+        if (child == null)
+            throw new NonExistingIdAsChildException(childId);
+        return child;
+    }
+
+    private static Item getDependency(Map<String, Item> itemMap, String depId) {
+        Item dependency = itemMap.get(depId);
+        if (dependency == null)
+            throw new NonExistingIdAsDependencyException(depId);
+        return dependency;
     }
 }
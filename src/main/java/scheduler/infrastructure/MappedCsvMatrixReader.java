@@ -0,0 +1,249 @@
+package scheduler.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+@AllArgsConstructor
+public class MappedCsvMatrixReader implements SplittableMatrixReader {
+
+    public static class MalformedCsvException extends RuntimeException {
+        public MalformedCsvException(int position) {
+            super(String.format("Unexpected character after a closing quote at byte %d", position));
+        }
+    }
+
+    private static final byte QUOTE = '"';
+    private static final byte DELIMITER = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final int MAX_EXACT_MANTISSA = 1 << 24;
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private Path path;
+
+    @SneakyThrows
+    @Override
+    public MatrixCursor open() {
+        try (val channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Cursor(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), 0);
+        }
+    }
+
+    @SneakyThrows
+    @Override
+    public List<MatrixCursor> open(int chunks, Predicate<MatrixCursor> isChunkStart) {
+        ByteBuffer buffer;
+        try (val channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        val limit = buffer.limit();
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        boolean quoted = false;
+        long target = (long) limit / Math.max(1, chunks);
+        for (int i = 0; i < limit - 1 && target < limit; ++i) {
+            val b = buffer.get(i);
+            if (b == QUOTE)
+                quoted = !quoted;
+            if (quoted || i + 1 < target || !isRecordEnd(buffer, i))
+                continue;
+            val candidate = new Cursor(slice(buffer, i + 1, limit), i + 1);
+            if (candidate.next() && isChunkStart.test(candidate)) {
+                boundaries.add(i + 1);
+                target = (long) limit * boundaries.size() / chunks;
+            }
+        }
+        boundaries.add(limit);
+        List<MatrixCursor> result = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.size(); ++i)
+            result.add(new Cursor(slice(buffer, boundaries.get(i), boundaries.get(i + 1)), boundaries.get(i)));
+        return result;
+    }
+
+    private static boolean isRecordEnd(ByteBuffer buffer, int position) {
+        val b = buffer.get(position);
+        return b == LF || (b == CR && buffer.get(position + 1) != LF);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int start, int end) {
+        val result = buffer.duplicate();
+        ((Buffer) result).position(start);
+        ((Buffer) result).limit(end);
+        return result.slice();
+    }
+
+    private static class Cursor implements MatrixCursor {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private int position = 0;
+        private int size = 0;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] escaped = new boolean[16];
+        private byte[] scratch = new byte[64];
+
+        Cursor(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean next() {
+            val limit = buffer.limit();
+            if (position >= limit)
+                return false;
+            size = 0;
+            while (true) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                    escaped = Arrays.copyOf(escaped, size * 2);
+                }
+                position = position < limit && buffer.get(position) == QUOTE ? readQuoted(limit) : readPlain(limit);
+                size++;
+                if (position >= limit)
+                    return true;
+                val separator = buffer.get(position++);
+                if (separator == DELIMITER)
+                    continue;
+                if (separator == CR && position < limit && buffer.get(position) == LF)
+                    position++;
+                return true;
+            }
+        }
+
+        private int readPlain(int limit) {
+            int i = position;
+            while (i < limit) {
+                val b = buffer.get(i);
+                if (b == DELIMITER || b == LF || b == CR)
+                    break;
+                ++i;
+            }
+            starts[size] = position;
+            ends[size] = i;
+            escaped[size] = false;
+            return i;
+        }
+
+        private int readQuoted(int limit) {
+            boolean hasEscapes = false;
+            int i = position + 1;
+            while (i < limit) {
+                if (buffer.get(i) == QUOTE) {
+                    if (i + 1 < limit && buffer.get(i + 1) == QUOTE) {
+                        hasEscapes = true;
+                        i += 2;
+                        continue;
+                    }
+                    break;
+                }
+                ++i;
+            }
+            starts[size] = position + 1;
+            ends[size] = Math.min(i, limit);
+            escaped[size] = hasEscapes;
+            val next = Math.min(i + 1, limit);
+            if (next < limit) {
+                val b = buffer.get(next);
+                if (b != DELIMITER && b != LF && b != CR)
+                    throw new MalformedCsvException(offset + next);
+            }
+            return next;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String get(int column) {
+            checkColumn(column);
+            int length = 0;
+            val end = ends[column];
+            for (int i = starts[column]; i < end; ++i) {
+                val b = buffer.get(i);
+                if (escaped[column] && b == QUOTE)
+                    ++i;
+                if (length == scratch.length)
+                    scratch = Arrays.copyOf(scratch, length * 2);
+                scratch[length++] = b;
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public boolean isEmpty(int column) {
+            checkColumn(column);
+            return starts[column] == ends[column];
+        }
+
+        @Override
+        public float getFloat(int column) {
+            checkColumn(column);
+            int i = starts[column];
+            val end = ends[column];
+            val negative = i < end && buffer.get(i) == '-';
+            if (negative)
+                ++i;
+            int mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; i < end; ++i) {
+                val b = buffer.get(i);
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                    continue;
+                }
+                if (b < '0' || b > '9' || mantissa > (MAX_EXACT_MANTISSA - 9) / 10)
+                    return MatrixCursor.super.getFloat(column);
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0)
+                    fractionDigits++;
+            }
+            if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length)
+                return MatrixCursor.super.getFloat(column);
+            val result = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : (float) mantissa;
+            return negative ? -result : result;
+        }
+
+        @Override
+        public int getInt(int column) {
+            checkColumn(column);
+            int i = starts[column];
+            val end = ends[column];
+            val negative = i < end && buffer.get(i) == '-';
+            if (negative)
+                ++i;
+            if (i == end || end - i > 9)
+                return MatrixCursor.super.getInt(column);
+            int result = 0;
+            for (; i < end; ++i) {
+                val b = buffer.get(i);
+                if (b < '0' || b > '9')
+                    return MatrixCursor.super.getInt(column);
+                result = result * 10 + (b - '0');
+            }
+            return negative ? -result : result;
+        }
+
+        private void checkColumn(int column) {
+            if (column < 0 || column >= size)
+                throw new ArrayIndexOutOfBoundsException(column);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package scheduler.infrastructure;
+
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public interface MatrixCursor {
+
+    boolean next();
+
+    int size();
+
+    String get(int column);
+
+    default boolean isEmpty(int column) {
+        return get(column).isEmpty();
+    }
+
+    default float getFloat(int column) {
+        val value = get(column);
+        if (value == null)
+            throw new NumberFormatException("null");
+        return Float.parseFloat(value);
+    }
+
+    default int getInt(int column) {
+        return Integer.parseInt(get(column));
+    }
+
+    default List<String> getRow() {
+        List<String> result = new ArrayList<>(size());
+        for (int i = 0; i < size(); ++i)
+            result.add(get(i));
+        return result;
+    }
+
+    static MatrixCursor of(List<List<String>> matrix) {
+        Iterator<List<String>> rows = matrix.iterator();
+        return new MatrixCursor() {
+            List<String> current;
+
+            @Override
+            public boolean next() {
+                if (!rows.hasNext())
+                    return false;
+                current = rows.next();
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return current.size();
+            }
+
+            @Override
+            public String get(int column) {
+                return current.get(column);
+            }
+        };
+    }
+
+    static MatrixCursor open(MatrixReader reader) {
+        if (reader instanceof StreamingMatrixReader)
+            return ((StreamingMatrixReader) reader).open();
+        return of(reader.read());
+    }
+}
@@ -1,54 +1,53 @@
 package scheduler.infrastructure;
 
-import javafx.util.Pair;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.val;
+import scheduler.Interruptions;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class MatrixInterruptionsFactory implements InterruptionsFactory {
-    private MatrixReader reader;
+    private final MatrixReader reader;
+    @Setter private ExecutorService executor;
+    @Setter private int chunks = Runtime.getRuntime().availableProcessors();
 
     @Override
-    public Map<String, List<Pair<Float, Float>>> create() {
-        val matrix = reader.read();
-        if (!isValidStructure(matrix))
-            throw new UnrecognizedStructureException();
-        Map<String, List<Pair<Float, Float>>> result = new HashMap<>();
+    public Map<String, Interruptions> create() {
+        Map<String, Interruptions> result = new HashMap<>();
+        for (val chunk : new ChunkedMatrixParser(executor, chunks).parse(reader, (cursor, leading) -> parse(cursor)))
+            for (val entry : chunk.entrySet())
+                if (result.putIfAbsent(entry.getKey(), entry.getValue()) != null)
+                    throw new DuplicationException(entry.getKey());
+        return result;
+    }
+
+    private static Map<String, Interruptions> parse(MatrixCursor row) {
+        Map<String, Interruptions.Builder> builders = new HashMap<>();
         String previousId = null;
-        for (val row : matrix) {
+        while (row.next()) {
+            if (row.size() != 3)
+                throw new UnrecognizedStructureException();
             val rowId = row.get(0);
             val isGrouped = isSignificantlyEmpty(rowId);
             val id = isGrouped ? previousId : rowId;
             if (isSignificantlyEmpty(id))
                 throw new EmptyIdException();
-            if (isGrouped)
-                result.get(id).add(getDateRange(row));
-            else if (result.containsKey(id))
+            if (!isGrouped && builders.containsKey(id))
                 throw new DuplicationException(id);
-            else
-                result.put(id, new ArrayList<>(Collections.singletonList(getDateRange(row))));
+            builders
+                    .computeIfAbsent(id, k -> new Interruptions.Builder())
+                    .add(row.getFloat(1), row.getFloat(2));
             previousId = id;
         }
+        Map<String, Interruptions> result = new HashMap<>();
+        for (val entry : builders.entrySet())
+            result.put(entry.getKey(), entry.getValue().build());
         return result;
     }
 
-    private static Pair<Float, Float> getDateRange(List<String> row) {
-        return new Pair<>(getFloat(row, 1), getFloat(row, 2));
-    }
-
-    private static float getFloat(List<String> row, int index) {
-        val capacity = row.get(index);
-        if (capacity == null)
-            throw new NumberFormatException("null");
-        return Float.parseFloat(capacity);
-    }
-
-    private static boolean isValidStructure(List<List<String>> matrix) {
-        return matrix.size() == 0 || matrix.stream().allMatch(row -> row.size() == 3);
-    }
-
     private static boolean isSignificantlyEmpty(String string) {
         return string == null || string.trim().isEmpty();
     }
@@ -1,25 +1,25 @@
 package scheduler.infrastructure;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.SneakyThrows;
-import lombok.val;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
+import lombok.*;
 import scheduler.Item;
 
-import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Data
 public class MatrixItemFactory implements ItemFactory {
-    private List<List<String>> matrix;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private final MatrixReader reader;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private MatrixCursor headless;
     private ColumnConfiguration columnConfiguration;
     private String dependencyDelimiter = ";";
+    private boolean frozen = false;
+    private boolean bulk = false;
 
     private static final String ID = "id";
     private static final String THREADS = "threads";
@@ -34,8 +34,9 @@ public class MatrixItemFactory implements ItemFactory {
     }
 
     public MatrixItemFactory(MatrixReader reader) {
-        this.matrix = reader.read();
-        this.columnConfiguration = new ColumnConfiguration(matrix.get(0));
+        this.reader = reader;
+        this.headless = MatrixCursor.open(reader);
+        this.columnConfiguration = new ColumnConfiguration(headless.next() ? headless.getRow() : Collections.emptyList());
         assertColumnsExist(ID, THREADS, PREDECESSORS, SIZE, NAME);
         assertNameIsLast(ID, THREADS, PREDECESSORS, SIZE);
     }
@@ -71,11 +72,13 @@ public class MatrixItemFactory implements ItemFactory {
     public Map<String, Item> create() {
         PlaceholderNode current = new PlaceholderNode(null, new ItemBuilder.Placeholder("__root__", "__root__"));
         ItemBuilder builder = new ItemBuilder();
+        builder.setFrozen(frozen);
+        builder.setBulk(bulk);
         builder.add(current.value);
         int currentLevel = 0;
-        for (int i = 1; i < matrix.size(); ++i) {
-            val row = matrix.get(i);
-            val nestedItem = getNestedItem(row);
+        val cursor = openHeadless();
+        while (cursor.next()) {
+            val nestedItem = getNestedItem(cursor);
             int diff = nestedItem.level - currentLevel;
             if (diff <= 0) {
                 for (int j = diff; j < 0; ++j) {
@@ -87,7 +90,7 @@ public class MatrixItemFactory implements ItemFactory {
                 throw new RuntimeException(String.format("Too big level difference (%d)!", diff));
 
             val child = new PlaceholderNode(current, nestedItem.placeholder);
-            child.value.dependencyIds = getDependencies(row);
+            child.value.dependencyIds = getDependencies(cursor);
             builder.add(child.value);
             current.value.childIds.add(child.value.id);
             current = child;
@@ -96,13 +99,24 @@ public class MatrixItemFactory implements ItemFactory {
         return builder.build();
     }
 
-    private List<String> getDependencies(List<String> row) {
+    private MatrixCursor openHeadless() {
+        val result = headless;
+        if (result != null) {
+            headless = null;
+            return result;
+        }
+        val reopened = MatrixCursor.open(reader);
+        reopened.next();
+        return reopened;
+    }
+
+    private List<String> getDependencies(MatrixCursor row) {
         return Arrays.stream(getValue(row, PREDECESSORS).split(dependencyDelimiter))
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toList());
     }
 
-    private String getValue(List<String> row, String key) {
+    private String getValue(MatrixCursor row, String key) {
         return row.get(columnConfiguration.getIndexOf(key));
     }
 
@@ -112,36 +126,33 @@ public class MatrixItemFactory implements ItemFactory {
         ItemBuilder.Placeholder placeholder;
     }
 
-    private NestedItem getNestedItem(List<String> row) {
+    private NestedItem getNestedItem(MatrixCursor row) {
         val treeStartCol = columnConfiguration.getIndexOf(NAME);
         for (int i = treeStartCol; i < row.size(); ++i) {
-            val name = row.get(i);
-            if (!name.isEmpty())
+            if (!row.isEmpty(i))
                 return new NestedItem(i - treeStartCol, new ItemBuilder.Placeholder(
                         getValue(row, ID),
-                        name,
+                        row.get(i),
                         getItemSize(row),
                         getThreads(row)));
         }
         throw new RuntimeException(String.format("Cannot find a name for element id %s!", getValue(row, ID)));
     }
 
-    private Integer getThreads(List<String> row) {
+    private Integer getThreads(MatrixCursor row) {
         return getInt(row, columnConfiguration.getIndexOf(THREADS));
     }
 
-    private Float getItemSize(List<String> row) {
+    private Float getItemSize(MatrixCursor row) {
         return getFloat(row, columnConfiguration.getIndexOf(SIZE));
     }
 
-    private static Float getFloat(List<String> row, int col) {
-        val sizeStr = row.get(col);
-        return sizeStr.isEmpty() ? null : Float.parseFloat(sizeStr);
+    private static Float getFloat(MatrixCursor row, int col) {
+        return row.isEmpty(col) ? null : row.getFloat(col);
     }
 
-    private static Integer getInt(List<String> row, int col) {
-        val sizeStr = row.get(col);
-        return sizeStr.isEmpty() ? null : Integer.parseInt(sizeStr);
+    private static Integer getInt(MatrixCursor row, int col) {
+        return row.isEmpty(col) ? null : row.getInt(col);
     }
 
 }
@@ -1,20 +1,25 @@
 package scheduler.infrastructure;
 
-import javafx.util.Pair;
 import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.val;
+import scheduler.Interruptions;
 import scheduler.ProjectResource;
 import scheduler.capacity.CapacityCalculator;
 import scheduler.capacity.CapacityProvider;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class MatrixResourceFactory {
-    private MatrixReader reader;
-    private CapacityProviderFactory capacityProviderFactory;
-    private InterruptionsFactory interruptionsFactory;
+    private final MatrixReader reader;
+    private final CapacityProviderFactory capacityProviderFactory;
+    private final InterruptionsFactory interruptionsFactory;
+    @Setter private ExecutorService executor;
+    @Setter private int chunks = Runtime.getRuntime().availableProcessors();
 
     @AllArgsConstructor
     private static class Placeholder {
@@ -24,54 +29,51 @@ public class MatrixResourceFactory {
 
     public List<ProjectResource> create() {
         val interruptions = interruptionsFactory.create();
-        val matrix = reader.read();
-        if (!isValidStructure(matrix))
+        Map<String, List<Placeholder>> result = new LinkedHashMap<>();
+        for (val chunk : new ChunkedMatrixParser(executor, chunks).parse(reader, MatrixResourceFactory::parse))
+            for (val entry : chunk.entrySet())
+                if (result.putIfAbsent(entry.getKey(), entry.getValue()) != null)
+                    throw new DuplicationException(entry.getKey());
+        return result.entrySet().stream()
+                .map(e -> createProjectResource(e.getKey(), e.getValue(), getInterruptions(interruptions, e.getKey())))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, List<Placeholder>> parse(MatrixCursor row, boolean leading) {
+        if (!row.next() || (leading && row.size() != 3))
             throw new UnrecognizedStructureException();
         Map<String, List<Placeholder>> result = new LinkedHashMap<>();
         String previousId = null;
-        for (val row : matrix) {
+        do {
             val rowId = row.get(0);
             val isGrouped = isSignificantlyEmpty(rowId);
             val id = isGrouped ? previousId : rowId;
             if (isSignificantlyEmpty(id))
                 throw new EmptyIdException();
             if (isGrouped)
-                result.get(id).add(new Placeholder(row.get(1), getCapacity(row)));
+                result.get(id).add(new Placeholder(row.get(1), row.getFloat(2)));
             else if (result.containsKey(id))
                 throw new DuplicationException(id);
             else
-                result.put(id, new ArrayList<>(Collections.singletonList(new Placeholder(row.get(1), getCapacity(row)))));
+                result.put(id, new ArrayList<>(Collections.singletonList(new Placeholder(row.get(1), row.getFloat(2)))));
             previousId = id;
-        }
-        return result.entrySet().stream()
-                .map(e -> createProjectResource(e.getKey(), e.getValue(), getInterruptions(interruptions, e.getKey())))
-                .collect(Collectors.toList());
+        } while (row.next());
+        return result;
     }
 
     private static boolean isSignificantlyEmpty(String string) {
         return string == null || string.trim().isEmpty();
     }
 
-    private static float getCapacity(List<String> row) {
-        val capacity = row.get(2);
-        if (capacity == null)
-            throw new NumberFormatException("null");
-        return Float.parseFloat(capacity);
-    }
-
-    private static boolean isValidStructure(List<List<String>> matrix) {
-        return matrix.size() >= 1 && matrix.get(0).size() == 3;
-    }
-
-    private static List<Pair<Float, Float>> getInterruptions(Map<String, List<Pair<Float, Float>>> interruptions, String resource) {
+    private static Interruptions getInterruptions(Map<String, Interruptions> interruptions, String resource) {
         if (interruptions != null) {
             val result = interruptions.get(resource);
-            return result == null ? Collections.emptyList() : result;
+            return result == null ? Interruptions.NONE : result;
         }
-        return Collections.emptyList();
+        return Interruptions.NONE;
     }
 
-    private ProjectResource createProjectResource(String id, List<Placeholder> placeholders, List<Pair<Float, Float>> interruptions) {
+    private ProjectResource createProjectResource(String id, List<Placeholder> placeholders, Interruptions interruptions) {
         val capacityCalculator = createCapacityCalculator(placeholders);
         return new ProjectResource(id, capacityCalculator, interruptions);
     }
@@ -0,0 +1,225 @@
+package scheduler.infrastructure;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import scheduler.Interruptions;
+import scheduler.Item;
+import scheduler.ItemValidator;
+import scheduler.ProjectResource;
+import scheduler.ReachabilityIndex;
+import scheduler.capacity.CapacityCalculator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+public class ModelSnapshot {
+
+    private static final int MAGIC = 0x5343484d;
+    private static final int VERSION = 2;
+    private static final int NONE = -1;
+
+    private ModelSnapshot() {
+    }
+
+    @SneakyThrows
+    public static byte[] hash(Path... inputs) {
+        val digest = MessageDigest.getInstance("SHA-256");
+        val buffer = new byte[1 << 16];
+        for (val input : inputs) {
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(Files.size(input)).array());
+            try (InputStream stream = Files.newInputStream(input)) {
+                for (int read = stream.read(buffer); read >= 0; read = stream.read(buffer))
+                    digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    @SneakyThrows
+    public static void write(Path path, byte[] hash, CompiledModel model) {
+        val temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (val output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(hash.length);
+            output.write(hash);
+            val items = new ArrayList<Item>(model.getItems().values());
+            Map<Item, Integer> indexes = new IdentityHashMap<>();
+            for (val item : items)
+                indexes.put(item, indexes.size());
+            writeItems(output, items, indexes);
+            output.writeInt(model.getPrioritizedItems().size());
+            for (val group : model.getPrioritizedItems())
+                writeIndexes(output, group, indexes);
+            output.writeInt(model.getResources().size());
+            for (val resource : model.getResources())
+                writeResource(output, resource, items);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeItems(DataOutputStream output, List<Item> items, Map<Item, Integer> indexes) throws IOException {
+        output.writeInt(items.size());
+        output.writeBoolean(!items.isEmpty() && items.get(0).isFrozen());
+        for (val item : items) {
+            val parameters = item.getParameters();
+            writeString(output, item.getId());
+            writeString(output, parameters.getName());
+            output.writeBoolean(parameters.getSize() != null);
+            if (parameters.getSize() != null)
+                output.writeFloat(parameters.getSize());
+            output.writeBoolean(parameters.getThreads() != null);
+            if (parameters.getThreads() != null)
+                output.writeInt(parameters.getThreads());
+        }
+        for (val item : items) {
+            output.writeInt(item.getParent() == null ? NONE : indexes.get(item.getParent()));
+            writeIndexes(output, item.getChildren(), indexes);
+            writeIndexes(output, item.getDependencies(), indexes);
+            writeIndexes(output, item.getImpacted(), indexes);
+        }
+    }
+
+    private static void writeResource(DataOutputStream output, ProjectResource resource, List<Item> items) throws IOException {
+        writeString(output, resource.getId());
+        val interruptions = resource.getInterruptions();
+        output.writeInt(interruptions.size());
+        for (int i = 0; i < interruptions.size(); ++i) {
+            output.writeLong(interruptions.getStartTick(i));
+            output.writeLong(interruptions.getEndTick(i));
+        }
+        val capacities = new float[items.size()];
+        int nonZero = 0;
+        for (int i = 0; i < items.size(); ++i)
+            if ((capacities[i] = resource.getRate(items.get(i))) != 0.0f)
+                nonZero++;
+        output.writeInt(nonZero);
+        for (int i = 0; i < capacities.length; ++i) {
+            if (capacities[i] == 0.0f)
+                continue;
+            output.writeInt(i);
+            output.writeFloat(capacities[i]);
+        }
+    }
+
+    private static void writeIndexes(DataOutputStream output, Collection<Item> items, Map<Item, Integer> indexes) throws IOException {
+        output.writeInt(items.size());
+        for (val item : items)
+            output.writeInt(indexes.get(item));
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(NONE);
+            return;
+        }
+        val bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    @SneakyThrows
+    public static CompiledModel read(Path path, byte[] hash) {
+        if (!Files.isRegularFile(path))
+            return null;
+        ByteBuffer buffer;
+        try (val channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return null;
+            val storedHash = new byte[buffer.getInt()];
+            buffer.get(storedHash);
+            if (!Arrays.equals(storedHash, hash))
+                return null;
+            return readModel(buffer);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    private static CompiledModel readModel(ByteBuffer buffer) {
+        val items = new Item[buffer.getInt()];
+        val frozen = buffer.get() != 0;
+        for (int i = 0; i < items.length; ++i) {
+            val id = readString(buffer);
+            val name = readString(buffer);
+            val size = buffer.get() != 0 ? buffer.getFloat() : null;
+            val threads = buffer.get() != 0 ? buffer.getInt() : null;
+            items[i] = new Item(id, new Item.Parameters(name, size, threads));
+        }
+        Map<Item, Item> parents = new IdentityHashMap<>();
+        Map<Item, List<Item>> children = new IdentityHashMap<>();
+        Map<Item, List<Item>> dependencies = new IdentityHashMap<>();
+        Map<Item, List<Item>> impacted = new IdentityHashMap<>();
+        for (val item : items) {
+            val parent = buffer.getInt();
+            if (parent != NONE)
+                parents.put(item, items[parent]);
+            children.put(item, readIndexes(buffer, items));
+            dependencies.put(item, readIndexes(buffer, items));
+            impacted.put(item, readIndexes(buffer, items));
+        }
+        Map<String, Item> itemMap = new LinkedHashMap<>();
+        for (val item : items)
+            itemMap.put(item.getId(), item);
+        ItemValidator.restore(itemMap.values(), parents, children, dependencies, impacted);
+        if (frozen)
+            ReachabilityIndex.freeze(itemMap.values());
+        val groupCount = buffer.getInt();
+        List<Collection<Item>> prioritizedItems = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; ++i)
+            prioritizedItems.add(readIndexes(buffer, items));
+        Set<Item> domain = Collections.newSetFromMap(new IdentityHashMap<>());
+        domain.addAll(itemMap.values());
+        val resourceCount = buffer.getInt();
+        List<ProjectResource> resources = new ArrayList<>(resourceCount);
+        for (int i = 0; i < resourceCount; ++i)
+            resources.add(readResource(buffer, items, domain));
+        return new CompiledModel(itemMap, prioritizedItems, resources);
+    }
+
+    private static ProjectResource readResource(ByteBuffer buffer, Item[] items, Set<Item> domain) {
+        val id = readString(buffer);
+        val interruptions = new Interruptions.Builder();
+        val interruptionCount = buffer.getInt();
+        for (int i = 0; i < interruptionCount; ++i)
+            interruptions.addTicks(buffer.getLong(), buffer.getLong());
+        Map<Item, Float> capacities = new IdentityHashMap<>();
+        val capacityCount = buffer.getInt();
+        for (int i = 0; i < capacityCount; ++i)
+            capacities.put(items[buffer.getInt()], buffer.getFloat());
+        return new ProjectResource(id, CapacityCalculator.precompiled(domain, capacities), interruptions.build());
+    }
+
+    private static List<Item> readIndexes(ByteBuffer buffer, Item[] items) {
+        val count = buffer.getInt();
+        List<Item> result = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i)
+            result.add(items[buffer.getInt()]);
+        return result;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        val length = buffer.getInt();
+        if (length == NONE)
+            return null;
+        val bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package scheduler.infrastructure;
+
+import scheduler.Item;
+import scheduler.ProjectResource;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonScheduleWriter extends ScheduleRecordWriter {
+
+    private final Writer writer;
+
+    public NdjsonScheduleWriter(Writer writer, long resolution) {
+        super(resolution);
+        this.writer = writer;
+    }
+
+    @Override
+    protected void writeHeader() {
+    }
+
+    @Override
+    protected void writeRecord(Item item, ProjectResource resource, float start, float end, float workDone) throws IOException {
+        writer.write("{\"item\":");
+        writeString(item.getId());
+        writer.write(",\"resource\":");
+        writeString(resource.getId());
+        writer.write(",\"start\":");
+        writer.write(Float.toString(start));
+        writer.write(",\"end\":");
+        writer.write(Float.toString(end));
+        writer.write(",\"workDone\":");
+        writer.write(Float.toString(workDone));
+        writer.write("}\n");
+    }
+
+    private void writeString(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            }
+            else if (c < 0x20)
+                writer.write(String.format("\\u%04x", (int) c));
+            else
+                writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,113 @@
+package scheduler.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import scheduler.Item;
+import scheduler.ProjectResource;
+import scheduler.Ticks;
+import scheduler.TimelineSink;
+import scheduler.WorkPackage;
+
+import java.io.IOException;
+import java.util.*;
+
+public abstract class ScheduleRecordWriter implements TimelineSink, AutoCloseable {
+
+    @AllArgsConstructor
+    private static class Run {
+        int start;
+        int end;
+        double workDone;
+    }
+
+    private final long resolution;
+    private final Map<ProjectResource, Map<Item, Run>> runs = new LinkedHashMap<>();
+    private int bucketFrames = 0;
+    private int frameNum = 0;
+    private boolean started = false;
+
+    protected ScheduleRecordWriter(long resolution) {
+        this.resolution = resolution;
+    }
+
+    public void setBucket(float bucket) {
+        bucketFrames = bucket > 0.0f ? (int) Math.max(1, Math.round((double) Ticks.of(bucket) / resolution)) : 0;
+    }
+
+    @SneakyThrows
+    @Override
+    public void accept(List<WorkPackage> workPackages, int frames) {
+        start();
+        val to = frameNum + frames;
+        for (int from = frameNum; from < to; ) {
+            val until = bucketFrames > 0 ? Math.min(to, (from / bucketFrames + 1) * bucketFrames) : to;
+            for (val pkg : workPackages)
+                extend(pkg, from, until);
+            if (bucketFrames == 0)
+                flush(until);
+            else if (until % bucketFrames == 0)
+                flush(Integer.MAX_VALUE);
+            from = until;
+        }
+        frameNum = to;
+    }
+
+    private void start() throws IOException {
+        if (started)
+            return;
+        started = true;
+        writeHeader();
+    }
+
+    private void extend(WorkPackage pkg, int from, int until) throws IOException {
+        val resourceRuns = runs.computeIfAbsent(pkg.getResource(), resource -> new LinkedHashMap<>());
+        Run run = resourceRuns.get(pkg.getItem());
+        if (run != null && bucketFrames == 0 && run.end != from) {
+            writeRun(pkg.getItem(), pkg.getResource(), run);
+            run = null;
+        }
+        if (run == null)
+            resourceRuns.put(pkg.getItem(), run = new Run(from, until, 0.0));
+        run.end = until;
+        run.workDone += (double) (until - from) * pkg.getWorkDone();
+    }
+
+    private void flush(int activeUntil) throws IOException {
+        val resources = runs.entrySet().iterator();
+        while (resources.hasNext()) {
+            val resourceRuns = resources.next();
+            val items = resourceRuns.getValue().entrySet().iterator();
+            while (items.hasNext()) {
+                val entry = items.next();
+                if (entry.getValue().end >= activeUntil)
+                    continue;
+                writeRun(entry.getKey(), resourceRuns.getKey(), entry.getValue());
+                items.remove();
+            }
+            if (resourceRuns.getValue().isEmpty())
+                resources.remove();
+        }
+    }
+
+    private void writeRun(Item item, ProjectResource resource, Run run) throws IOException {
+        writeRecord(item, resource, toTime(run.start), toTime(run.end), (float) run.workDone);
+    }
+
+    private float toTime(int frame) {
+        return (float) Ticks.toTime(frame * resolution);
+    }
+
+    @Override
+    public void close() throws IOException {
+        start();
+        flush(Integer.MAX_VALUE);
+        finish();
+    }
+
+    protected abstract void writeHeader() throws IOException;
+
+    protected abstract void writeRecord(Item item, ProjectResource resource, float start, float end, float workDone) throws IOException;
+
+    protected abstract void finish() throws IOException;
+}
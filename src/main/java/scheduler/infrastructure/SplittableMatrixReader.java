@@ -0,0 +1,9 @@
+package scheduler.infrastructure;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public interface SplittableMatrixReader extends StreamingMatrixReader {
+
+    List<MatrixCursor> open(int chunks, Predicate<MatrixCursor> isChunkStart);
+}
@@ -0,0 +1,18 @@
+package scheduler.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public interface StreamingMatrixReader extends MatrixReader {
+
+    MatrixCursor open();
+
+    @Override
+    default List<List<String>> read() {
+        List<List<String>> result = new ArrayList<>();
+        MatrixCursor cursor = open();
+        while (cursor.next())
+            result.add(cursor.getRow());
+        return result;
+    }
+}
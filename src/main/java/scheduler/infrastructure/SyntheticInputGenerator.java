@@ -0,0 +1,196 @@
+package scheduler.infrastructure;
+
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+public class SyntheticInputGenerator {
+
+    public static final String ITEMS_FILE = "pbs.csv";
+    public static final String RESOURCES_FILE = "resources.csv";
+    public static final String INTERRUPTIONS_FILE = "interruptions.csv";
+
+    public static class InvalidInterruptionDensityException extends RuntimeException {
+        public InvalidInterruptionDensityException(float density) {
+            super(String.format("Interruption density has to be between 0 and 1 exclusive (%s given)", density));
+        }
+    }
+
+    private static final long ITEMS_STREAM = 0x17e45L;
+    private static final long RESOURCES_STREAM = 0x4e5L;
+    private static final long INTERRUPTIONS_STREAM = 0x1a7eL;
+
+    @Setter private long seed = 0;
+    @Setter private int itemCount = 1000;
+    @Setter private int maxDepth = 3;
+    @Setter private int fanOut = 4;
+    @Setter private float dependencyDensity = 0.5f;
+    @Setter private int dependencyWindow = 1000;
+    @Setter private int maxThreads = 2;
+    @Setter private float sizeStep = 0.5f;
+    @Setter private int maxSizeSteps = 10;
+    @Setter private int skills = 10;
+    @Setter private float skillSkew = 1.0f;
+    @Setter private int resourceCount = 20;
+    @Setter private int skillsPerResource = 2;
+    private float interruptionDensity = 0.1f;
+    @Setter private float meanInterruptionLength = 2.0f;
+    @Setter private float horizon = 1000.0f;
+
+    public void setInterruptionDensity(float interruptionDensity) {
+        if (!(interruptionDensity > 0.0f && interruptionDensity < 1.0f))
+            throw new InvalidInterruptionDensityException(interruptionDensity);
+        this.interruptionDensity = interruptionDensity;
+    }
+
+    public void write(Path directory) {
+        write(directory.resolve(ITEMS_FILE), this::writeItems);
+        write(directory.resolve(RESOURCES_FILE), this::writeResources);
+        write(directory.resolve(INTERRUPTIONS_FILE), this::writeInterruptions);
+    }
+
+    @SneakyThrows
+    private static void write(Path path, Consumer<Writer> content) {
+        try (val writer = Files.newBufferedWriter(path)) {
+            content.accept(writer);
+        }
+    }
+
+    @SneakyThrows
+    public void writeItems(Writer writer) {
+        val random = new Random(seed ^ ITEMS_STREAM);
+        val skillSampler = createSkillSampler();
+        val printer = new CSVPrinter(writer, CSVFormat.RFC4180);
+        val columns = 4 + Math.max(1, maxDepth);
+        List<String> row = new ArrayList<>(Collections.nCopies(columns, ""));
+        row.set(0, "id");
+        row.set(1, "predecessors");
+        row.set(2, "threads");
+        row.set(3, "size");
+        row.set(4, "name");
+        printer.printRecord(row);
+        int[] completed = new int[Math.max(1, dependencyWindow)];
+        int completedCount = 0;
+        Deque<int[]> open = new ArrayDeque<>();
+        int written = 0;
+        while (written < itemCount || !open.isEmpty()) {
+            if (!open.isEmpty() && (open.peek()[1] == 0 || written == itemCount)) {
+                completed[completedCount++ % completed.length] = open.pop()[0];
+                continue;
+            }
+            val level = open.size();
+            if (!open.isEmpty())
+                open.peek()[1]--;
+            val id = ++written;
+            val children = level < maxDepth - 1 ? Math.min(1 + random.nextInt(2 * fanOut - 1), itemCount - written) : 0;
+            Collections.fill(row, "");
+            row.set(0, Integer.toString(id));
+            row.set(1, sampleDependencies(random, completed, Math.min(completedCount, completed.length)));
+            if (children > 0)
+                row.set(4 + level, "Group " + id);
+            else {
+                row.set(2, Integer.toString(1 + random.nextInt(maxThreads)));
+                row.set(3, Float.toString(sizeStep * (1 + random.nextInt(maxSizeSteps))));
+                row.set(4 + level, String.format("Task %d %s", id, skillTag(skillSampler.applyAsInt(random))));
+            }
+            printer.printRecord(row);
+            if (children > 0)
+                open.push(new int[]{id, children});
+            else
+                completed[completedCount++ % completed.length] = id;
+        }
+        printer.flush();
+    }
+
+    private String sampleDependencies(Random random, int[] completed, int available) {
+        int count = (int) dependencyDensity + (random.nextFloat() < dependencyDensity % 1 ? 1 : 0);
+        count = Math.min(count, available);
+        Set<Integer> result = new LinkedHashSet<>();
+        while (result.size() < count)
+            result.add(completed[random.nextInt(available)]);
+        StringJoiner joiner = new StringJoiner(";");
+        result.forEach(id -> joiner.add(Integer.toString(id)));
+        return joiner.toString();
+    }
+
+    @SneakyThrows
+    public void writeResources(Writer writer) {
+        val random = new Random(seed ^ RESOURCES_STREAM);
+        val skillSampler = createSkillSampler();
+        val printer = new CSVPrinter(writer, CSVFormat.RFC4180);
+        for (int resource = 0; resource < resourceCount; ++resource) {
+            Set<Integer> resourceSkills = new LinkedHashSet<>();
+            for (int skill = resource; skill < skills; skill += resourceCount)
+                resourceSkills.add(skill);
+            for (int i = 0; i < skillsPerResource * 4 && resourceSkills.size() < Math.min(skillsPerResource, skills); ++i)
+                resourceSkills.add(skillSampler.applyAsInt(random));
+            String id = resourceId(resource);
+            for (val skill : resourceSkills) {
+                val capacity = resourceSkills.size() > 1 && random.nextBoolean() ? 0.5f : 1.0f;
+                printer.printRecord(id, "containing " + skillTag(skill), Float.toString(capacity));
+                id = "";
+            }
+        }
+        printer.flush();
+    }
+
+    @SneakyThrows
+    public void writeInterruptions(Writer writer) {
+        val random = new Random(seed ^ INTERRUPTIONS_STREAM);
+        val printer = new CSVPrinter(writer, CSVFormat.RFC4180);
+        val meanGap = meanInterruptionLength * (1.0 - interruptionDensity) / interruptionDensity;
+        for (int resource = 0; resource < resourceCount; ++resource) {
+            String id = resourceId(resource);
+            double time = -Math.log(1.0 - random.nextDouble()) * meanGap;
+            while (time < horizon) {
+                val length = -Math.log(1.0 - random.nextDouble()) * meanInterruptionLength;
+                printer.printRecord(id, Float.toString((float) time), Float.toString((float) (time + length)));
+                id = "";
+                time += length - Math.log(1.0 - random.nextDouble()) * meanGap;
+            }
+        }
+        printer.flush();
+    }
+
+    private ToIntFunction<Random> createSkillSampler() {
+        double[] cumulative = new double[skills];
+        double sum = 0.0;
+        for (int i = 0; i < skills; ++i) {
+            sum += 1.0 / Math.pow(i + 1, skillSkew);
+            cumulative[i] = sum;
+        }
+        val total = sum;
+        return random -> {
+            val index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            return Math.min(skills - 1, index >= 0 ? index : -index - 1);
+        };
+    }
+
+    private static String resourceId(int resource) {
+        return "R" + (resource + 1);
+    }
+
+    private static String skillTag(int skill) {
+        return "[skill" + skill + "]";
+    }
+
+    public static void main(String[] args) {
+        val generator = new SyntheticInputGenerator();
+        if (args.length > 1)
+            generator.setItemCount(Integer.parseInt(args[1]));
+        if (args.length > 2)
+            generator.setSeed(Long.parseLong(args[2]));
+        generator.write(Paths.get(args.length > 0 ? args[0] : "."));
+    }
+
+}
@@ -0,0 +1,78 @@
+package scheduler
+
+import javafx.util.Pair
+import scheduler.capacity.CapacityCalculator
+import spock.lang.Specification
+
+class BeamSearchTimelineFactoryTest extends Specification {
+
+    def fullCapacityCalculator = Mock(CapacityCalculator) {
+        calculate(_) >> 1.0f
+    }
+    def halfCapacityCalculator = Mock(CapacityCalculator) {
+        calculate(_) >> 0.5f
+    }
+
+    def item1 = new Item('item1', new Item.Parameters('name', 7, 2))
+    def item2 = new Item('item2', new Item.Parameters('name', 3, 1))
+    def item3 = new Item('item3', new Item.Parameters('name', 12, 1))
+    def item4 = new Item('item4', new Item.Parameters('name', 5, 3))
+    def item5 = new Item('item5', new Item.Parameters('name', 0.5f, 1))
+    def groups = [[item1, item2], [item3], [item4], [item5]]
+
+    def resources = [
+            new ProjectResource('resource1', fullCapacityCalculator, [new Pair<Float, Float>(2.0f, 4.5f)]),
+            new ProjectResource('resource2', halfCapacityCalculator, []),
+            new ProjectResource('resource3', fullCapacityCalculator, [new Pair<Float, Float>(0.0f, 1.0f)])
+    ]
+
+    def setup() {
+        item3.addDependency(item2)
+        item4.addDependency(item1)
+        item5.addDependency(item3)
+    }
+
+    def "single-state beam without branching shall follow the greedy timeline"() {
+        given:
+        def greedy = new TimelineFactory(0.5f, resources)
+        def cut = new BeamSearchTimelineFactory(0.5f, resources)
+        cut.setBeamWidth(1)
+        cut.setBranching(1)
+
+        when:
+        def expected = greedy.create(groups)
+        def result = cut.create(groups)
+
+        then:
+        result == expected
+    }
+
+    def "shall complete the work of every item"() {
+        given:
+        def cut = new BeamSearchTimelineFactory(0.5f, resources)
+        cut.setBeamWidth(3)
+        cut.setBranching(2)
+
+        when:
+        def result = cut.create(groups)
+
+        then:
+        def workDone = result.flatten().groupBy { it.item }.collectEntries { item, packages -> [(item): packages.sum { it.workDone }] }
+        groups.flatten().every { workDone[it] >= it.parameters.size }
+    }
+
+    def "shall throw when no resource available over defined time"() {
+        given:
+        def item = new Item('item', new Item.Parameters('name', 1, 1))
+        def resource = new ProjectResource('resource', fullCapacityCalculator, [new Pair<Float, Float>(0.0f, 50.0f)])
+        def cut = new BeamSearchTimelineFactory(1, [resource])
+        cut.setMaxInactivity(2.0f)
+
+        when:
+        cut.create([[item]])
+
+        then:
+        thrown(TimelineFactory.ExceededMaxInactivityException)
+    }
+
+}
@@ -1,5 +1,7 @@
 package scheduler
 
+import scheduler.capacity.CapacityCalculator
+import scheduler.capacity.StaticCapacityProvider
 import spock.lang.Specification
 
 class BoardTest extends Specification {
@@ -11,11 +13,11 @@ class BoardTest extends Specification {
     def item3 = new Item('id3', params)
     def multithreadItem = new Item('multithreadItem', new Item.Parameters('name', 1, 2))
 
-    def resource1 = Mock(ProjectResource)
-    def resource2 = Mock(ProjectResource)
-    def resource3 = Mock(ProjectResource)
-    def resource4 = Mock(ProjectResource)
-    def resource5 = Mock(ProjectResource)
+    def resource1 = Mock(ProjectResource) { getRate(_) >> 1.0f }
+    def resource2 = Mock(ProjectResource) { getRate(_) >> 1.0f }
+    def resource3 = Mock(ProjectResource) { getRate(_) >> 1.0f }
+    def resource4 = Mock(ProjectResource) { getRate(_) >> 1.0f }
+    def resource5 = Mock(ProjectResource) { getRate(_) >> 1.0f }
 
     def "one item"() {
         given:
@@ -52,6 +54,21 @@ class BoardTest extends Specification {
         thrown(Board.UnknownResourceException)
     }
 
+    def "shall accept a resource equal to a known one"() {
+        given:
+        def resource = new ProjectResource('resource', new CapacityCalculator(), [])
+        def cut = new Board([item1], [resource])
+        def allocs = cut.getTodo()
+
+        when:
+        cut.allocate(allocs[0], new ProjectResource('resource', new CapacityCalculator(), []))
+        cut.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        cut.isFinished()
+        cut.getOccupations() == [(resource): Optional.empty()]
+    }
+
     def "shall throw when deallocated with unknown allocation"() {
         given:
         def cut = new Board([], [resource1])
@@ -175,7 +192,7 @@ class BoardTest extends Specification {
         def cut = new Board([item1], [resource1])
 
         when:
-        def workDone = cut.increaseTime(1.0f)
+        def workDone = cut.increaseTicks(Ticks.of(1.0f), 1)
 
         then:
         cut.getTodo()[0].todo == params.size
@@ -189,15 +206,15 @@ class BoardTest extends Specification {
 
         and:
         def cut = new Board([item], [resource1])
-        cut.time = time
+        cut.ticks = Ticks.of(time)
         def alloc = cut.getTodo()[0]
         cut.allocate(alloc, resource1)
 
         when:
-        def workDone = cut.increaseTime(delta)
+        def workDone = cut.increaseTicks(Ticks.of(delta), 1)
 
         then:
-        1 * resource1.getCapacity(item, time, delta) >> capacity
+        1 * resource1.getTickCapacity(item, Ticks.of(time), Ticks.of(delta)) >> capacity
         cut.getOngoing()[0].todo == expected
         workDone == [new WorkPackage(resource1, item, capacity)]
 
@@ -216,9 +233,9 @@ class BoardTest extends Specification {
         def cut = new Board([item], [resource1, resource2, resource3])
 
         and:
-        resource1.getCapacity(item, _, _) >> 1.0f
-        resource2.getCapacity(item, _, _) >> 0.0f
-        resource3.getCapacity(item, _, _) >> 2.0f
+        resource1.getTickCapacity(item, _, _) >> 1.0f
+        resource2.getTickCapacity(item, _, _) >> 0.0f
+        resource3.getTickCapacity(item, _, _) >> 2.0f
 
         and:
         def alloc = cut.getTodo()[0]
@@ -227,7 +244,7 @@ class BoardTest extends Specification {
         cut.allocate(alloc, resource3)
 
         when:
-        def workDone = cut.increaseTime(1.0f)
+        def workDone = cut.increaseTicks(Ticks.of(1.0f), 1)
 
         then:
         workDone.size() == 3
@@ -241,8 +258,8 @@ class BoardTest extends Specification {
         def cut = new Board([item1, item2], [resource1, resource2])
 
         and:
-        resource1.getCapacity(item1, _, _) >> 1.0f
-        resource2.getCapacity(item2, _, _) >> 2.0f
+        resource1.getTickCapacity(item1, _, _) >> 1.0f
+        resource2.getTickCapacity(item2, _, _) >> 2.0f
 
         and:
         def alloc1 = cut.getTodo()[0]
@@ -251,7 +268,7 @@ class BoardTest extends Specification {
         cut.allocate(alloc2, resource2)
 
         when:
-        def workDone = cut.increaseTime(1.0f)
+        def workDone = cut.increaseTicks(Ticks.of(1.0f), 1)
 
         then:
         workDone.size() == 2
@@ -264,12 +281,12 @@ class BoardTest extends Specification {
         def cut = new Board([], [])
 
         when:
-        cut.increaseTime(0.5f)
-        cut.increaseTime(1.5f)
-        cut.increaseTime(0.25f)
+        cut.increaseTicks(Ticks.of(0.5f), 1)
+        cut.increaseTicks(Ticks.of(1.5f), 1)
+        cut.increaseTicks(Ticks.of(0.25f), 1)
 
         then:
-        cut.getTime() == 2.25f
+        cut.ticks == Ticks.of(2.25f)
     }
 
     def "shall throw when invalid delta given"() {
@@ -277,7 +294,7 @@ class BoardTest extends Specification {
         def cut = new Board([], [])
 
         when:
-        cut.increaseTime(delta)
+        cut.increaseTicks(Ticks.of(delta), 1)
 
         then:
         thrown(expected)
@@ -295,10 +312,10 @@ class BoardTest extends Specification {
         def cut = new Board([item], [resource1])
         def alloc = cut.getTodo()[0]
         cut.allocate(alloc, resource1)
-        resource1.getCapacity(item, _, _) >> capacity
+        resource1.getTickCapacity(item, _, _) >> capacity
 
         when:
-        cut.increaseTime(10)
+        cut.increaseTicks(Ticks.of(10), 1)
 
         then:
         cut.getTodo().isEmpty()
@@ -436,13 +453,242 @@ class BoardTest extends Specification {
         cut.allocate(alloc, resource1)
 
         when:
-        def result = cut.getSortedFreeResources(item1, delta)
+        def result = cut.getSortedFreeResourcesForTicks(item1, Ticks.of(delta))
 
         then:
-        (1.._) * resource2.getCapacity(item1, cut.getTime(), delta) >> 0.5f
-        (1.._) * resource3.getCapacity(item1, cut.getTime(), delta) >> 1.5f
-        (1.._) * resource4.getCapacity(item1, cut.getTime(), delta) >> 1.0f
-        (1.._) * resource5.getCapacity(item1, cut.getTime(), delta) >> 0.0f
+        (1.._) * resource2.getTickCapacity(item1, cut.getTicks(), Ticks.of(delta)) >> 0.5f
+        (1.._) * resource3.getTickCapacity(item1, cut.getTicks(), Ticks.of(delta)) >> 1.5f
+        (1.._) * resource4.getTickCapacity(item1, cut.getTicks(), Ticks.of(delta)) >> 1.0f
+        (1.._) * resource5.getTickCapacity(item1, cut.getTicks(), Ticks.of(delta)) >> 0.0f
         result == [resource3, resource4, resource2]
     }
+
+    def "shall apply work done by an allocated alloc over many frames at once"() {
+        given:
+        def item = new Item('id', new Item.Parameters('name', 10, 1))
+        def cut = new Board([item], [resource1])
+        def alloc = cut.getTodo()[0]
+        cut.allocate(alloc, resource1)
+
+        when:
+        def workDone = cut.increaseTicks(Ticks.of(0.5f), 4)
+
+        then:
+        1 * resource1.getTickCapacity(item, 0, Ticks.of(0.5f)) >> 0.5f
+        workDone == [new WorkPackage(resource1, item, 0.5f)]
+        cut.getOngoing()[0].todo == 8.0f
+        cut.ticks == Ticks.of(2.0f)
+    }
+
+    def "shall throw when invalid number of frames given"() {
+        given:
+        def cut = new Board([], [])
+
+        when:
+        cut.increaseTicks(Ticks.of(1.0f), frames)
+
+        then:
+        thrown(Board.InvalidFramesException)
+
+        where:
+        frames << [0, -1]
+    }
+
+    def "shall return alloc as independent once its dependency is done"() {
+        given:
+        item2.addDependency(item1)
+        def cut = new Board([item1, item2], [resource1])
+        def alloc1 = cut.getTodo()[0]
+        def alloc2 = cut.getTodo()[1]
+        resource1.getTickCapacity(item1, _, _) >> 1.0f
+        cut.allocate(alloc1, resource1)
+
+        when:
+        cut.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        cut.getIndependentTodo() == [alloc2]
+    }
+
+    def "shall return alloc as independent only when all children of its dependency are done"() {
+        given:
+        def group = new Item('group')
+        group.addChild(item1)
+        group.addChild(item2)
+        item3.addDependency(group)
+        def cut = new Board([item1, item2, item3], [resource1, resource2])
+        def alloc1 = cut.getTodo()[0]
+        def alloc2 = cut.getTodo()[1]
+        def alloc3 = cut.getTodo()[2]
+        resource1.getTickCapacity(item1, _, _) >> 1.0f
+        resource2.getTickCapacity(item2, _, _) >> 0.5f
+        cut.allocate(alloc1, resource1)
+        cut.allocate(alloc2, resource2)
+
+        when:
+        cut.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        cut.getIndependentTodo().isEmpty()
+
+        when:
+        cut.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        cut.getIndependentTodo() == [alloc3]
+    }
+
+    def "shall return independent todo and spare ongoing ordered by impact"() {
+        given:
+        def item4 = new Item('id4', new Item.Parameters('name', 1, 2))
+        def item5 = new Item('id5', new Item.Parameters('name', 1, 2))
+        item2.addDependency(item3)
+        item1.addDependency(item5)
+        def cut = new Board([item3, item4, item5], [resource1, resource2])
+        def alloc3 = cut.getTodo()[0]
+        def alloc4 = cut.getTodo()[1]
+        def alloc5 = cut.getTodo()[2]
+
+        expect:
+        cut.getIndependentTodo() == [alloc3, alloc5, alloc4]
+
+        when:
+        cut.allocate(alloc4, resource1)
+        cut.allocate(alloc5, resource2)
+
+        then:
+        cut.getIndependentTodo() == [alloc3]
+        cut.getSpareOngoing() == [alloc5, alloc4]
+    }
+
+    def "shall be finished only when nothing is left todo or ongoing"() {
+        given:
+        def cut = new Board([item1], [resource1])
+        def alloc = cut.getTodo()[0]
+
+        expect:
+        !cut.isFinished()
+
+        when:
+        cut.allocate(alloc, resource1)
+
+        then:
+        !cut.isFinished()
+
+        when:
+        cut.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        1 * resource1.getTickCapacity(item1, 0, Ticks.of(1.0f)) >> 1.0f
+        cut.isFinished()
+    }
+
+    def "shall order free resources of equal capacity as they were given"() {
+        given:
+        def cut = new Board([item1], [resource3, resource1, resource2])
+
+        when:
+        def result = cut.getSortedFreeResourcesForTicks(item1, Ticks.of(1.0f))
+
+        then:
+        _ * resource1.getTickCapacity(item1, _, _) >> 1.0f
+        _ * resource2.getTickCapacity(item1, _, _) >> 2.0f
+        _ * resource3.getTickCapacity(item1, _, _) >> 1.0f
+        result == [resource2, resource3, resource1]
+    }
+
+    def "shall not ask resources without rate for an item about their capacity"() {
+        given:
+        def unskilled = Mock(ProjectResource) { getRate(_) >> 0.0f }
+        def cut = new Board([item1], [unskilled, resource1])
+
+        when:
+        def result = cut.getSortedFreeResourcesForTicks(item1, Ticks.of(1.0f))
+
+        then:
+        0 * unskilled.getTickCapacity(_, _, _)
+        1 * resource1.getTickCapacity(item1, 0, Ticks.of(1.0f)) >> 1.0f
+        result == [resource1]
+    }
+
+    def "forked board shall evolve independently"() {
+        given:
+        def item = new Item('id', new Item.Parameters('name', 2, 1))
+        item2.addDependency(item)
+        def cut = new Board([item, item2], [resource1])
+        cut.allocate(cut.getTodo()[0], resource1)
+
+        when:
+        def fork = cut.fork()
+        fork.increaseTicks(Ticks.of(1.0f), 1)
+        fork.increaseTicks(Ticks.of(1.0f), 1)
+
+        then:
+        _ * resource1.getTickCapacity(item, _, _) >> 1.0f
+        fork.getDone()*.item == [item]
+        fork.getIndependentTodo()*.item == [item2]
+        fork.getOccupations()[resource1] == Optional.empty()
+        fork.ticks == Ticks.of(2.0f)
+        cut.getDone().isEmpty()
+        cut.getOngoing()*.item == [item]
+        cut.getOngoing()[0].todo == 2.0f
+        cut.getIndependentTodo().isEmpty()
+        cut.getOccupations()[resource1].get().item == item
+        cut.ticks == Ticks.of(0.0f)
+    }
+
+    def "shall reject allocations of the board it was forked from"() {
+        given:
+        def cut = new Board([item1], [resource1])
+        def alloc = cut.getTodo()[0]
+        def fork = cut.fork()
+
+        when:
+        fork.allocate(alloc, resource1)
+
+        then:
+        thrown(Board.InvalidAllocationException)
+    }
+
+    def "shall sum remaining work of todo and ongoing allocations"() {
+        given:
+        def cut = new Board([item1, multithreadItem], [resource1])
+        cut.allocate(cut.getTodo()[1], resource1)
+
+        when:
+        cut.increaseTicks(Ticks.of(0.5f), 1)
+
+        then:
+        1 * resource1.getTickCapacity(multithreadItem, 0, Ticks.of(0.5f)) >> 0.5f
+        cut.getRemainingWork() == 1.5f
+    }
+
+    def "shall not drift over many frames"() {
+        given:
+        def cut = new Board([], [])
+
+        when:
+        1000000.times { cut.increaseTicks(Ticks.of(0.1f), 1) }
+
+        then:
+        cut.ticks == 1000000 * Ticks.of(0.1f)
+    }
+
+    def "shall subtract the reported work exactly for non-terminating rates"() {
+        given:
+        def item = new Item('id', new Item.Parameters('name', 1, 1))
+        def resource = new ProjectResource('resource', new CapacityCalculator([new StaticCapacityProvider((float) (1 / 7))]), [])
+        def cut = new Board([item], [resource])
+        cut.allocate(cut.getTodo()[0], resource)
+
+        when:
+        def frames = 0
+        while (!cut.isFinished()) {
+            cut.increaseTicks(Ticks.PER_UNIT, frames == 0 ? 6 : 1)
+            frames += frames == 0 ? 6 : 1
+        }
+
+        then:
+        frames == 7
+    }
 }
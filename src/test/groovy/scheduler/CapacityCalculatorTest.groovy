@@ -2,6 +2,10 @@ package scheduler
 
 import scheduler.capacity.CapacityCalculator
 import scheduler.capacity.CapacityProvider
+import scheduler.capacity.InGroupProvider
+import scheduler.capacity.NameContainsProvider
+import scheduler.capacity.NameNotContainsProvider
+import scheduler.capacity.SkillMatcher
 import spock.lang.Specification
 
 import java.security.Provider
@@ -47,4 +51,73 @@ class CapacityCalculatorTest extends Specification {
         cut.calculate(item) == 1.5f
     }
 
+    def "shall serve compiled capacities without consulting providers"() {
+        given:
+        def item1 = new Item('id1')
+        def item2 = new Item('id2')
+        def item3 = new Item('id3')
+        def provider = Mock(CapacityProvider)
+        def cut = new CapacityCalculator([provider])
+
+        when:
+        cut.compile([item1, item2] as Set)
+
+        then:
+        1 * provider.provide(item1) >> 0.5f
+        1 * provider.provide(item2) >> 0.0f
+
+        when:
+        def result1 = cut.calculate(item1)
+        def result2 = cut.calculate(item2)
+        def result3 = cut.calculate(item3)
+
+        then:
+        0 * provider.provide(item1)
+        0 * provider.provide(item2)
+        1 * provider.provide(item3) >> 2.0f
+        result1 == 0.5f
+        result2 == 0.0f
+        result3 == 2.0f
+    }
+
+    def "shall compile skill rules to the same capacities as the providers"() {
+        given:
+        def matcher = new SkillMatcher()
+        def providers = [
+                new NameContainsProvider('java', 1.5f, matcher),
+                new NameContainsProvider('java', 0.5f, matcher),
+                new NameContainsProvider('sql', 0.8f, matcher),
+                new NameNotContainsProvider('legacy', 0.3f, matcher),
+                new NameNotContainsProvider('sql', -1.0f, matcher),
+                new InGroupProvider(new NameContainsProvider('backend', 2.0f, matcher)),
+                new NameContainsProvider('test', 0.7f)]
+        def group = new Item('group', new Item.Parameters('backend', null, null))
+        def items = ['java', 'legacy java', 'sql', 'legacy sql', 'test legacy', 'legacy', ''].withIndex().collect { name, i ->
+            new Item("id$i", new Item.Parameters(name, 1, 1))
+        }
+        group.addChild(items[5])
+        def expected = items.collect { new CapacityCalculator(providers).calculate(it) }
+        def cut = new CapacityCalculator(providers)
+
+        when:
+        cut.compile(items as Set)
+
+        then:
+        items.collect { cut.calculate(it) } == expected
+        expected == [1.5f, 1.5f, 0.8f, 0.8f, 0.7f, 2.0f, 0.3f]
+    }
+
+    def "shall compile a negative capacity when every skill rule yields it"() {
+        given:
+        def matcher = new SkillMatcher()
+        def item = new Item('id', new Item.Parameters('name', 1, 1))
+        def cut = new CapacityCalculator([new NameNotContainsProvider('other', -1.0f, matcher)])
+
+        when:
+        cut.compile([item] as Set)
+
+        then:
+        cut.calculate(item) == -1.0f
+    }
+
 }
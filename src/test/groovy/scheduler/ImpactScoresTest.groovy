@@ -0,0 +1,32 @@
+package scheduler
+
+import spock.lang.Specification
+
+class ImpactScoresTest extends Specification {
+
+    def "shall be equal to total dependent size of every item"() {
+        given:
+        def item1 = new Item('id1', new Item.Parameters('name', 1.5f, 1))
+        def item2 = new Item('id2', new Item.Parameters('name', 2.0f, 1))
+        def item3 = new Item('id3', new Item.Parameters('name', 4.25f, 1))
+        def item4 = new Item('id4', new Item.Parameters('name', null, 1))
+        def item41 = new Item('id41', new Item.Parameters('name', 3.0f, 1))
+        def item42 = new Item('id42', new Item.Parameters('name', 0.5f, 1))
+        def item5 = new Item('id5', new Item.Parameters('name', 7.0f, 1))
+        item4.addChild(item41)
+        item4.addChild(item42)
+        item2.addDependency(item1)
+        item3.addDependency(item1)
+        item4.addDependency(item2)
+        item4.addDependency(item3)
+        item5.addDependency(item42)
+        def items = [item1, item2, item3, item4, item41, item42, item5]
+
+        when:
+        def result = ImpactScores.calculate(items)
+
+        then:
+        items.every { item -> Math.abs(result[item] - item.getTotalDependentSize()) < 0.0001f }
+    }
+
+}
@@ -0,0 +1,73 @@
+package scheduler
+
+import javafx.util.Pair
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InterruptionsTest extends Specification {
+
+    def "shall sort and merge overlapping interruptions"() {
+        when:
+        def result = new Interruptions.Builder()
+                .add(5.0f, 6.0f)
+                .add(1.0f, 2.0f)
+                .add(1.5f, 3.0f)
+                .add(3.0f, 4.0f)
+                .add(7.0f, 7.0f)
+                .add(9.0f, 8.0f)
+                .build()
+
+        then:
+        result.size() == 2
+        result.getStartTick(0) == Ticks.of(1.0f)
+        result.getEndTick(0) == Ticks.of(4.0f)
+        result.getStartTick(1) == Ticks.of(5.0f)
+        result.getEndTick(1) == Ticks.of(6.0f)
+    }
+
+    def "shall be equal when built from the same ranges"() {
+        expect:
+        Interruptions.of([new Pair<Float, Float>(0.3f, 0.5f)]) == Interruptions.of([new Pair<Float, Float>(0.3f, 0.5f)])
+        Interruptions.of([]) == Interruptions.NONE
+    }
+
+    @Unroll
+    def "get interrupted time (#from, #to, #expected)"() {
+        given:
+        def cut = new Interruptions.Builder()
+                .add(1.0f, 2.0f)
+                .add(3.0f, 5.0f)
+                .add(4.0f, 6.0f)
+                .build()
+
+        expect:
+        cut.getInterruptedTicks(Ticks.of(from), Ticks.of(to)) == Ticks.of(expected)
+
+        where:
+        from | to    | expected
+        0.0f | 1.0f  | 0.0f
+        0.0f | 1.5f  | 0.5f
+        0.0f | 10.0f | 4.0f
+        1.5f | 3.5f  | 1.0f
+        2.0f | 3.0f  | 0.0f
+        5.5f | 7.0f  | 0.5f
+        7.0f | 8.0f  | 0.0f
+        3.0f | 3.0f  | 0.0f
+    }
+
+    def "shall count interrupted ticks and boundaries exactly far into the project"() {
+        given:
+        def cut = new Interruptions.Builder()
+                .add(1.5f, 2.0f)
+                .add(1000000.5f, 1000001.0f)
+                .build()
+
+        expect:
+        cut.getInterruptedTicks(0, Ticks.of(3.0f)) == Ticks.of(0.5f)
+        cut.getInterruptedTicks(Ticks.of(1000000.25f), Ticks.of(1000000.75f)) == Ticks.of(0.25f)
+        cut.getNextBoundaryTick(Ticks.of(1.75f)) == Ticks.of(2.0f)
+        cut.getNextBoundaryTick(Ticks.of(2.0f)) == Ticks.of(1000000.5f)
+        cut.getNextBoundaryTick(Ticks.of(1000000.5f) - 1) == Ticks.of(1000000.5f)
+        cut.getNextBoundaryTick(Ticks.of(1000001.0f)) == Long.MAX_VALUE
+    }
+}
@@ -140,4 +140,126 @@ class ItemBuilderTest extends Specification {
         result['id4'].dependencies.isEmpty()
         assertDependencies(result['id5'], 'id1')
     }
+
+    def "shall freeze built items when requested"() {
+        given:
+        def cut = new ItemBuilder()
+        cut.setFrozen(true)
+        cut.add(new ItemBuilder.Placeholder('id1', 'name1', 1, 1, [], ['id2']))
+        cut.add(new ItemBuilder.Placeholder('id2', 'name2', 2, 2, [], []))
+
+        when:
+        def result = cut.build()
+
+        then:
+        result.values().every { it.isFrozen() }
+        result['id1'].isDependentFrom(result['id2'])
+        !result['id2'].isDependentFrom(result['id1'])
+    }
+
+    def "shall link the same graph in bulk"() {
+        given:
+        def placeholders = (0..<200).collect { i ->
+            def children = i < 20 ? (0..<9).collect { "id${20 + i * 9 + it}".toString() } : []
+            def dependencies = i >= 20 && i % 9 != 2 ? ["id${i - 1}".toString()] : []
+            new ItemBuilder.Placeholder("id${i}".toString(), "name${i}", i < 20 ? null : 1.0f, 1, children, dependencies)
+        }
+        def incremental = new ItemBuilder()
+        def bulk = new ItemBuilder()
+        bulk.setBulk(true)
+        placeholders.each { incremental.add(it); bulk.add(it) }
+
+        when:
+        def expected = incremental.build()
+        def result = bulk.build()
+
+        then:
+        result.keySet() == expected.keySet()
+        result.every { id, item ->
+            def other = expected[id]
+            item.parent?.id == other.parent?.id &&
+                    item.children*.id == other.children*.id &&
+                    item.dependencies*.id == other.dependencies*.id &&
+                    item.impacted*.id == other.impacted*.id
+        }
+    }
+
+    def "shall report violations of the whole graph in bulk"() {
+        given:
+        def cut = new ItemBuilder()
+        cut.setBulk(true)
+        placeholders.each { cut.add(new ItemBuilder.Placeholder(it[0], 'name', it[1], 1, it[2], it[3])) }
+
+        when:
+        cut.build()
+
+        then:
+        thrown(exception)
+
+        where:
+        placeholders                                                                          | exception
+        [['id1', 1, [], ['id2']], ['id2', 1, [], ['id1']]]                                    | Item.CyclicDependencyException
+        [['id1', 1, [], ['id1']]]                                                             | Item.CyclicDependencyException
+        [['id1', null, ['id2'], []], ['id2', null, ['id1'], []]]                              | Item.GenealogyException
+        [['id1', null, ['id2'], ['id2']], ['id2', 1, [], []]]                                 | Item.DependentFromSuccessorException
+        [['id1', null, ['id2'], []], ['id2', 1, [], ['id1']]]                                 | Item.DependencyCannotBePredecessorException
+        [['id1', null, ['id2'], ['id3']], ['id2', 1, [], []], ['id3', 1, [], ['id2']]]        | Item.DependentFromPredecessorException
+        [['id1', null, ['id2'], []], ['id2', 1, [], ['id3']], ['id3', 1, [], ['id1']]]        | Item.DependentFromSuccessorException
+        [['id1', 1, ['id2'], []], ['id2', null, ['id3'], []], ['id3', 1, [], []]]             | Item.PredecessorAlreadySizedException
+    }
+
+    def "shall attach further violations as suppressed in bulk"() {
+        given:
+        def cut = new ItemBuilder()
+        cut.setBulk(true)
+        cut.add(new ItemBuilder.Placeholder('id1', 'name1', 1, 1, [], ['id2']))
+        cut.add(new ItemBuilder.Placeholder('id2', 'name2', 1, 1, [], ['id1']))
+        cut.add(new ItemBuilder.Placeholder('id3', 'name3', 1, 1, [], ['id3']))
+
+        when:
+        cut.build()
+
+        then:
+        def e = thrown(Item.CyclicDependencyException)
+        e.suppressed.length == 1
+        e.suppressed[0] instanceof Item.CyclicDependencyException
+    }
+
+    def "shall report dependency cycles alongside genealogy cycles in bulk"() {
+        given:
+        def cut = new ItemBuilder()
+        cut.setBulk(true)
+        cut.add(new ItemBuilder.Placeholder('id1', 'name1', null, 1, ['id2'], ['id3']))
+        cut.add(new ItemBuilder.Placeholder('id2', 'name2', null, 1, ['id1'], []))
+        cut.add(new ItemBuilder.Placeholder('id3', 'name3', 1, 1, [], ['id1']))
+
+        when:
+        cut.build()
+
+        then:
+        def e = thrown(Item.GenealogyException)
+        e.message
+        e.suppressed.length == 1
+        e.suppressed[0] instanceof Item.CyclicDependencyException
+        e.suppressed[0].message
+    }
+
+    def "shall freeze items built in bulk"() {
+        given:
+        def cut = new ItemBuilder()
+        cut.setBulk(true)
+        cut.setFrozen(true)
+        cut.add(new ItemBuilder.Placeholder('id1', 'name1', null, 1, ['id3'], ['id2']))
+        cut.add(new ItemBuilder.Placeholder('id2', 'name2', 2, 2, [], []))
+        cut.add(new ItemBuilder.Placeholder('id3', 'name3', 3, 3, [], []))
+
+        when:
+        def result = cut.build()
+
+        then:
+        result.values().every { it.isFrozen() }
+        result['id3'].parent == result['id1']
+        result['id2'].impacted == [result['id1']]
+        result['id1'].isDependentFrom(result['id2'])
+    }
 }
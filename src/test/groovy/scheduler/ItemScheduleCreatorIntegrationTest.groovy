@@ -49,4 +49,37 @@ class ItemScheduleCreatorIntegrationTest extends Specification {
         result[item4] == [null, null, resource2]
     }
 
+    def "shall create overlapping intervals for an item in many threads"() {
+        given:
+        def resource1 = Mock(ProjectResource)
+        def resource2 = Mock(ProjectResource)
+        def item = new Item('id')
+
+        and:
+        def timeline = [[new WorkPackage(resource1, item, 1.0f)],
+                        [new WorkPackage(resource1, item, 1.0f), new WorkPackage(resource2, item, 1.0f)],
+                        [new WorkPackage(resource1, item, 1.0f)],
+                        []]
+
+        when:
+        def intervals = ItemScheduleCreator.createIntervals(timeline)
+        def dense = intervals.toDense()
+
+        then:
+        intervals.intervals[item] == [new ScheduleInterval(0, 3, resource1), new ScheduleInterval(1, 2, resource2)]
+        dense[item] == [resource1, resource2, resource1, null]
+    }
+
+    def "shall resolve nested intervals and gaps in the dense view"() {
+        given:
+        def intervals = new IntervalSchedule.Builder<String, String>()
+                .add('key', 0, 5, 'a')
+                .add('key', 1, 2, 'b')
+                .add('key', 7, 8, 'c')
+                .build(10)
+
+        expect:
+        intervals.toDense()['key'] == ['a', 'b', 'a', 'a', 'a', null, null, 'c', null, null]
+    }
+
 }
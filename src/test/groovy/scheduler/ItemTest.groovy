@@ -270,4 +270,41 @@ class ItemTest extends Specification {
         thrown(Item.PredecessorAlreadySizedException)
     }
 
+    def "frozen isDependentFrom shall answer the same as the graph traversal"() {
+        given:
+        def item5 = new Item("id5")
+        def item6 = new Item("id6")
+        item1.addDependency(item2)
+        item2.addChild(item3)
+        item3.addChild(item4)
+        item4.addDependency(item5)
+        item6.addChild(item1)
+        def items = [item1, item2, item3, item4, item5, item6]
+        def expected = [items, items].combinations().collect { a, b -> a.isDependentFrom(b) }
+
+        when:
+        ReachabilityIndex.freeze(items)
+
+        then:
+        items.every { it.isFrozen() }
+        [items, items].combinations().collect { a, b -> a.isDependentFrom(b) } == expected
+    }
+
+    def "shall throw when frozen item is modified"() {
+        given:
+        ReachabilityIndex.freeze([item1])
+
+        when:
+        item1.addDependency(item2)
+
+        then:
+        thrown(Item.FrozenItemException)
+
+        when:
+        item1.addChild(item3)
+
+        then:
+        thrown(Item.FrozenItemException)
+    }
+
 }
@@ -0,0 +1,69 @@
+package scheduler
+
+import scheduler.capacity.CapacityCalculator
+import scheduler.capacity.StaticCapacityProvider
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class LocalSearchOptimizerTest extends Specification {
+
+    def executor = Executors.newFixedThreadPool(2)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "shall not return a schedule worse than the greedy one"() {
+        given:
+        def item1 = new Item('item1', new Item.Parameters('name', 1, 1))
+        def item2 = new Item('item2', new Item.Parameters('name', 3, 1))
+        def item3 = new Item('item3', new Item.Parameters('name', 2, 1))
+        def item4 = new Item('item4', new Item.Parameters('name', 2, 1))
+        item3.addDependency(item1)
+        def resources = [new ProjectResource('resource1', new CapacityCalculator(), []),
+                         new ProjectResource('resource2', new CapacityCalculator([new StaticCapacityProvider(0.5f)]), [])]
+        def scheduleCreator = new ScheduleCreator([item1, item2, item3, item4], new ProjectLengthCostCalculator())
+        def greedy = scheduleCreator.create(resources)
+        def cut = new LocalSearchOptimizer(scheduleCreator, resources, executor)
+        cut.setTimeBudgetMillis(Long.MAX_VALUE)
+        cut.setEvaluationBudget(9)
+        cut.setNeighbours(2)
+        cut.setSeed(42)
+
+        when:
+        def result = cut.optimize()
+
+        then:
+        result.totalCost <= greedy.totalCost
+        cut.evaluations == 9
+    }
+
+    def "shall reject less than one neighbour"() {
+        given:
+        def cut = new LocalSearchOptimizer(new ScheduleCreator([], new ProjectLengthCostCalculator()), [], executor)
+
+        when:
+        cut.setNeighbours(neighbours)
+
+        then:
+        thrown(LocalSearchOptimizer.InvalidNeighboursException)
+
+        where:
+        neighbours << [0, -1]
+    }
+
+    def "shall return the greedy schedule when there is nothing to perturb"() {
+        given:
+        def resources = [new ProjectResource('resource1', new CapacityCalculator(), [])]
+        def cut = new LocalSearchOptimizer(new ScheduleCreator([], new ProjectLengthCostCalculator()), resources, executor)
+
+        when:
+        def result = cut.optimize()
+
+        then:
+        result.totalCost == 0.0f
+        cut.evaluations == 1
+    }
+
+}
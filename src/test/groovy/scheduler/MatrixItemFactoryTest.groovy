@@ -112,6 +112,16 @@ class MatrixItemFactoryTest extends Specification {
         }
     }
 
+    def "shall create the same items on every call"() {
+        when:
+        def first = cut.create()
+        def second = cut.create()
+
+        then:
+        second.keySet() == first.keySet()
+        assertDefaultSuccessors(second)
+    }
+
     def "dependencies"() {
         when:
         def result = cut.create()
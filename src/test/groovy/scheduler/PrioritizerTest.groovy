@@ -140,4 +140,111 @@ class PrioritizerTest extends Specification {
         result[0] == [item13]
     }
 
+    def "shall keep items of contradictory relations in one group"() {
+        given:
+        root.addChild(item1)
+        item1.addDependency(item2)
+        item2.addDependency(root)
+        item3.addDependency(item2)
+
+        when:
+        def result = cut.prioritize([root, item1, item2, item3])
+
+        then:
+        result.collect { it as Set } == [[root, item1, item2] as Set, [item3] as Set]
+    }
+
+    private static List<Item> generate(long seed, float childRatio, float dependencyRatio, int leafDependencies) {
+        def random = new Random(seed)
+        def items = (0..<300).collect { new Item("item${it}") }
+        (1..<items.size()).each { i ->
+            def draw = random.nextFloat()
+            def other = items[random.nextInt(i)]
+            if (draw < childRatio)
+                other.addChild(items[i])
+            else if (draw < childRatio + dependencyRatio)
+                other.addDependency(items[i])
+        }
+        def leaves = items.findAll { it.children.isEmpty() }
+        leafDependencies.times {
+            try {
+                leaves[random.nextInt(leaves.size())].addDependency(leaves[random.nextInt(leaves.size())])
+            }
+            catch (RuntimeException ignored) {
+            }
+        }
+        Collections.shuffle(items, random)
+        return items
+    }
+
+    private static Map<Item, Integer> legacyPositions(Collection<Item> items) {
+        def positions = items.collectEntries { [(it): 0] }
+        def move = { Item item, int offset ->
+            def stack = [item]
+            while (stack) {
+                def current = stack.pop()
+                positions[current] += offset
+                stack.addAll(current.children)
+                stack.addAll(current.dependencies)
+            }
+        }
+        items.each { item ->
+            item.dependencies.each { dependency ->
+                def diff = positions[item] - positions[dependency]
+                if (diff <= 0) {
+                    move(dependency, diff - 1)
+                    for (def ancestor = dependency.parent; ancestor != null; ancestor = ancestor.parent) {
+                        def offset = positions[dependency] - positions[ancestor]
+                        if (offset != 0)
+                            ancestor.dependencies.each { move(it, offset) }
+                    }
+                }
+            }
+        }
+        return positions
+    }
+
+    private static Map<Item, Integer> positions(Collection<Collection<Item>> groups) {
+        def result = [:]
+        groups.eachWithIndex { group, i -> group.each { result[it] = i } }
+        return result
+    }
+
+    def "shall group like the move cascade when relations form a forest"() {
+        given:
+        def items = generate(seed, 0.6f, 0.35f, 0)
+        items.each { assert it.impacted.size() + (it.parent == null ? 0 : 1) <= 1 }
+
+        when:
+        def result = cut.prioritize(items)
+
+        then:
+        def legacy = legacyPositions(items).groupBy { it.value }.sort().values().collect { it.keySet() }
+        result.collect { it as Set } == legacy
+
+        where:
+        seed << (1..20)
+    }
+
+    def "shall place dependencies of every ancestor first in no more layers than the move cascade"() {
+        given:
+        def items = generate(seed, 0.7f, 0.0f, 150)
+
+        when:
+        def result = positions(cut.prioritize(items))
+
+        then:
+        items.every { item ->
+            def ancestors = []
+            for (def a = item; a != null; a = a.parent)
+                ancestors << a
+            ancestors.every { ancestor -> ancestor.dependencies.every { result[it] < result[item] } } &&
+                    (item.parent == null || result[item] <= result[item.parent])
+        }
+        result.values().max() < legacyPositions(items).values().with { it.max() - it.min() + 1 }
+
+        where:
+        seed << (1..5)
+    }
+
 }
@@ -35,4 +35,19 @@ class ProjectLengthCostCalculatorTest extends Specification {
         0.5f       | 4.5f
     }
 
+    def "accumulated cost shall count repeated frames"() {
+        given:
+        def resource1 = Mock(ProjectResource)
+        def resource2 = Mock(ProjectResource)
+        def cut = new ProjectLengthCostCalculator().createAccumulator(0.5f)
+
+        when:
+        cut.accept([createWorkPackage(resource1)], 3)
+        cut.accept([createWorkPackage(resource2)], 1)
+        def result = cut.getCost()
+
+        then:
+        result closeTo(4.0f, 0.0001f)
+    }
+
 }
@@ -20,7 +20,7 @@ class ProjectResourceTest extends Specification {
                 capacityCalculator,
                 [new Pair<Float, Float>(0.3f, 0.5f),
                  new Pair<Float, Float>(0.9f, 1.0f)])
-        def result = cut.getCapacity(item, time, delta)
+        def result = cut.getTickCapacity(item, Ticks.of(time), Ticks.of(delta))
 
         then:
         1 * capacityCalculator.calculate(item) >> baseCapacity
@@ -48,4 +48,26 @@ class ProjectResourceTest extends Specification {
         1.0f | 0.7f         | 1.0f  | 0.7f
     }
 
+    @Unroll
+    def "get next interruption boundary (#time, #expected)"() {
+        when:
+        def cut = new ProjectResource(
+                'resource',
+                capacityCalculator,
+                [new Pair<Float, Float>(0.3f, 0.5f),
+                 new Pair<Float, Float>(0.9f, 1.0f)])
+
+        then:
+        cut.getNextInterruptionBoundaryTick(Ticks.of(time)) == (expected == Float.POSITIVE_INFINITY ? Long.MAX_VALUE : Ticks.of(expected))
+
+        where:
+        time  | expected
+        0.0f  | 0.3f
+        0.3f  | 0.5f
+        0.4f  | 0.5f
+        0.5f  | 0.9f
+        0.95f | 1.0f
+        1.0f  | Float.POSITIVE_INFINITY
+    }
+
 }
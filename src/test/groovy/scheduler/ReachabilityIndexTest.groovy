@@ -0,0 +1,46 @@
+package scheduler
+
+import spock.lang.Specification
+
+class ReachabilityIndexTest extends Specification {
+
+    def "shall answer the same as the graph traversal for a random graph"() {
+        given:
+        def random = new Random(5)
+        def items = (0..<60).collect { new Item("id$it") }
+        items.eachWithIndex { item, i ->
+            if (i > 0 && random.nextInt(4) == 0)
+                items[random.nextInt(i)].addChild(item)
+            2.times {
+                try {
+                    if (i > 0 && random.nextInt(3) == 0)
+                        item.addDependency(items[random.nextInt(i)])
+                }
+                catch (Item.DependencyCannotBePredecessorException | Item.DependentFromPredecessorException | Item.DependentFromSuccessorException ignored) {
+                }
+            }
+        }
+        def expected = [items, items].combinations().collect { a, b -> a.isDependentFrom(b) }
+
+        when:
+        ReachabilityIndex.freeze(items)
+
+        then:
+        [items, items].combinations().collect { a, b -> a.isDependentFrom(b) } == expected
+    }
+
+    def "shall store a dependency chain in linear space"() {
+        given:
+        def items = (0..<10000).collect { new Item("id$it") }
+        (1..<items.size()).each { items[it].addDependency(items[it - 1]) }
+
+        when:
+        def cut = ReachabilityIndex.freeze(items)
+
+        then:
+        cut.countIntervals() == items.size() - 1
+        items.last().isDependentFrom(items.first())
+        !items.first().isDependentFrom(items.last())
+    }
+
+}
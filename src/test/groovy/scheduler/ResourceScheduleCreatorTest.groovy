@@ -47,4 +47,26 @@ class ResourceScheduleCreatorTest extends Specification {
         result[resource2] == [null, item3, item4]
     }
 
+    def "shall create resource intervals"() {
+        given:
+        def resource1 = Mock(ProjectResource)
+        def resource2 = Mock(ProjectResource)
+        def item1 = new Item('id1')
+        def item2 = new Item('id2')
+
+        and:
+        def timeline = [[new WorkPackage(resource1, item1, 1.0f)],
+                        [new WorkPackage(resource1, item1, 1.0f), new WorkPackage(resource2, item2, 1.0f)],
+                        [new WorkPackage(resource2, item2, 1.0f)],
+                        [new WorkPackage(resource1, item1, 1.0f)]]
+
+        when:
+        def result = ResourceScheduleCreator.createIntervals(timeline)
+
+        then:
+        result.length == 4
+        result.intervals[resource1] == [new ScheduleInterval(0, 2, item1), new ScheduleInterval(3, 4, item1)]
+        result.intervals[resource2] == [new ScheduleInterval(1, 3, item2)]
+    }
+
 }
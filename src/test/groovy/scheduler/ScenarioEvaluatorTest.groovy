@@ -0,0 +1,80 @@
+package scheduler
+
+import scheduler.capacity.CapacityCalculator
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class ScenarioEvaluatorTest extends Specification {
+
+    def executor = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    Collection<Item> createItems() {
+        def item1 = new Item('item1', new Item.Parameters('name', 2, 1))
+        def item2 = new Item('item2', new Item.Parameters('name', 1, 2))
+        def item3 = new Item('item3', new Item.Parameters('name', 3, 1))
+        item3.addDependency(item1)
+        return [item1, item2, item3]
+    }
+
+    Collection<ProjectResource> createResources(int count) {
+        return (1..count).collect { new ProjectResource("resource$it", new CapacityCalculator(), []) }
+    }
+
+    def "shall evaluate every scenario as it would be evaluated alone"() {
+        given:
+        def scenarios = ['one': createResources(1), 'two': createResources(2), 'three': createResources(3)]
+        def cut = ScenarioEvaluator.freezing(createItems(), new ProjectLengthCostCalculator(), executor)
+        def expected = scenarios.collectEntries { name, resources ->
+            [(name): new ScheduleCreator(createItems(), new ProjectLengthCostCalculator()).create(resources).totalCost]
+        }
+
+        when:
+        def result = cut.evaluate(scenarios)
+
+        then:
+        result.keySet() == scenarios.keySet()
+        result.collectEntries { name, schedule -> [(name): schedule.totalCost] } == expected
+    }
+
+    def "shall pass each result to the consumer once"() {
+        given:
+        def scenarios = (1..8).collectEntries { ["scenario$it".toString(), createResources(it)] }
+        def cut = ScenarioEvaluator.freezing(createItems(), new ProjectLengthCostCalculator(), executor)
+        def received = []
+
+        when:
+        cut.evaluate(scenarios, { received << it.scenario })
+
+        then:
+        received.sort() == scenarios.keySet().sort()
+    }
+
+    def "shall freeze the shared items"() {
+        given:
+        def items = createItems()
+
+        when:
+        ScenarioEvaluator.freezing(items, new ProjectLengthCostCalculator(), executor)
+
+        then:
+        items.every { it.isFrozen() }
+    }
+
+    def "shall report failing scenario"() {
+        given:
+        def cut = ScenarioEvaluator.freezing(createItems(), new ProjectLengthCostCalculator(), executor)
+
+        when:
+        cut.evaluate(['empty': []])
+
+        then:
+        def e = thrown(ScenarioEvaluator.ScenarioFailedException)
+        e.message == 'empty'
+    }
+
+}
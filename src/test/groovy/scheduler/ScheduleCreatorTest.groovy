@@ -1,5 +1,7 @@
 package scheduler
 
+import scheduler.capacity.CapacityCalculator
+import scheduler.capacity.CapacityProvider
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -74,4 +76,32 @@ class ScheduleCreatorTest extends Specification {
         result.getTotalCost() == 123.0f
     }
 
+    def "shall calculate resolution exactly for large sizes"() {
+        given:
+        def cut = new ScheduleCreator(createItems(sizes), costCalculator)
+
+        expect:
+        cut.resolutionTicks == expected
+
+        where:
+        sizes                   | expected
+        [30000.0f, 45000.0f]    | Ticks.of(15000)
+        [1000000.0f, 0.5f]      | Ticks.of(0.5)
+        [0.3f, 0.7f]            | Ticks.of(0.1)
+    }
+
+    def "shall compile capacities of a resource once"() {
+        given:
+        def provider = Mock(CapacityProvider)
+        def resource = new ProjectResource('resource', new CapacityCalculator([provider]), [])
+        def cut = new ScheduleCreator([new Item('id', new Item.Parameters('name', 1, 1))], costCalculator)
+
+        when:
+        cut.create([resource])
+        cut.calculateCost([resource], DispatchPlan.DEFAULT)
+        cut.create([resource])
+
+        then:
+        1 * provider.provide(_) >> 1.0f
+    }
 }
@@ -2,7 +2,9 @@ package scheduler
 
 import javafx.util.Pair
 import scheduler.capacity.CapacityCalculator
+import scheduler.capacity.StaticCapacityProvider
 import spock.lang.Specification
+import spock.lang.Unroll
 
 class TimelineFactoryTest extends Specification {
 
@@ -364,9 +366,10 @@ class TimelineFactoryTest extends Specification {
         given:
         def item = new Item('item', new Item.Parameters('name', 1, 1))
         def resource = Mock(ProjectResource) {
-            getCapacity(item, 0.0f, _) >> 0.0f
-            getCapacity(item, 1.0f, _) >> 0.0f
-            getCapacity(item, 2.0f, _) >> 1.0f
+            getRate(item) >> 1.0f
+            getTickCapacity(item, Ticks.of(0.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(1.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(2.0f), _) >> 1.0f
         }
         def cut = new TimelineFactory(1, [resource])
 
@@ -385,10 +388,11 @@ class TimelineFactoryTest extends Specification {
         given:
         def item = new Item('item', new Item.Parameters('name', 1, 1))
         def resource = Mock(ProjectResource) {
-            getCapacity(item, 0.0f, _) >> 0.0f
-            getCapacity(item, 1.0f, _) >> 0.0f
-            getCapacity(item, 2.0f, _) >> 0.0f
-            getCapacity(item, 3.0f, _) >> 1.0f
+            getRate(item) >> 1.0f
+            getTickCapacity(item, Ticks.of(0.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(1.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(2.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(3.0f), _) >> 1.0f
         }
         def cut = new TimelineFactory(1, [resource])
         cut.setMaxInactivity(2.0f)
@@ -404,12 +408,13 @@ class TimelineFactoryTest extends Specification {
         given:
         def item = new Item('item', new Item.Parameters('name', 2, 1))
         def resource = Mock(ProjectResource) {
-            getCapacity(item, 0.0f, _) >> 0.0f
-            getCapacity(item, 1.0f, _) >> 0.0f
-            getCapacity(item, 2.0f, _) >> 1.0f
-            getCapacity(item, 3.0f, _) >> 0.0f
-            getCapacity(item, 4.0f, _) >> 0.0f
-            getCapacity(item, 5.0f, _) >> 1.0f
+            getRate(item) >> 1.0f
+            getTickCapacity(item, Ticks.of(0.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(1.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(2.0f), _) >> 1.0f
+            getTickCapacity(item, Ticks.of(3.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(4.0f), _) >> 0.0f
+            getTickCapacity(item, Ticks.of(5.0f), _) >> 1.0f
         }
         def cut = new TimelineFactory(1, [resource])
         cut.setMaxInactivity(2.0f)
@@ -423,8 +428,8 @@ class TimelineFactoryTest extends Specification {
 
     def "shall not assign resource with no capacity"() {
         given:
-        def resource1 = Mock(ProjectResource) { getCapacity(_, _, _) >> 0.0f }
-        def resource2 = Mock(ProjectResource) { getCapacity(_, _, _) >> 1.0f }
+        def resource1 = Mock(ProjectResource) { getRate(_) >> 1.0f; getTickCapacity(_, _, _) >> 0.0f }
+        def resource2 = Mock(ProjectResource) { getRate(_) >> 1.0f; getTickCapacity(_, _, _) >> 1.0f }
         def item1 = new Item('item1', new Item.Parameters('name', 1, 1))
         def item2 = new Item('item2', new Item.Parameters('name', 1, 2))
         def item3 = new Item('item2', new Item.Parameters('name', 1, 1))
@@ -437,4 +442,144 @@ class TimelineFactoryTest extends Specification {
         result.every { it.size() == 1 && it[0].resource == resource2 }
     }
 
+    def "event-driven mode shall produce the same timeline as fixed-resolution stepping"() {
+        given:
+        def item1 = new Item('item1', new Item.Parameters('name', 7, 2))
+        def item2 = new Item('item2', new Item.Parameters('name', 3, 1))
+        def item3 = new Item('item3', new Item.Parameters('name', 12, 1))
+        def item4 = new Item('item4', new Item.Parameters('name', 5, 3))
+        def item5 = new Item('item5', new Item.Parameters('name', 0.5f, 1))
+        item3.addDependency(item2)
+        item4.addDependency(item1)
+        item5.addDependency(item3)
+        def halfCapacityCalculator = Mock(CapacityCalculator) {
+            calculate(_) >> 0.5f
+        }
+        def resources = [
+                new ProjectResource('resource1', fullCapacityCalculator, [new Pair<Float, Float>(2.0f, 4.5f)]),
+                new ProjectResource('resource2', halfCapacityCalculator, []),
+                new ProjectResource('resource3', fullCapacityCalculator, [new Pair<Float, Float>(0.0f, 1.0f), new Pair<Float, Float>(9.0f, 10.0f)])
+        ]
+        def groups = [[item1, item2], [item3], [item4], [item5]]
+        def fixed = new TimelineFactory(0.5f, resources)
+        def eventDriven = new TimelineFactory(0.5f, resources)
+        eventDriven.setEventDriven(true)
+
+        when:
+        def expected = fixed.create(groups)
+        def result = eventDriven.create(groups)
+
+        then:
+        result == expected
+    }
+
+    @Unroll
+    def "event-driven mode shall produce the same timeline as fixed-resolution stepping for fractional sizes and capacities - #resolution"() {
+        given:
+        def item1 = new Item('item1', new Item.Parameters('name', 0.1f, 1))
+        def item2 = new Item('item2', new Item.Parameters('name', (float) (1 / 3), 2))
+        def item3 = new Item('item3', new Item.Parameters('name', 7.3f, 2))
+        def item4 = new Item('item4', new Item.Parameters('name', (float) (10 / 3), 1))
+        def item5 = new Item('item5', new Item.Parameters('name', 2.7f, 3))
+        item3.addDependency(item1)
+        item5.addDependency(item2)
+        def capacity = { float value -> Mock(CapacityCalculator) { calculate(_) >> value } }
+        def resources = [
+                new ProjectResource('resource1', capacity(0.3f), [new Pair<Float, Float>(1.7f, 2.9f)]),
+                new ProjectResource('resource2', capacity((float) (1 / 3)), []),
+                new ProjectResource('resource3', capacity(0.7f), [new Pair<Float, Float>(0.1f, 0.4f), new Pair<Float, Float>(6.1f, 7.3f)])
+        ]
+        def groups = [[item1, item2], [item3, item4], [item5]]
+        def fixed = new TimelineFactory(resolution, resources)
+        def eventDriven = new TimelineFactory(resolution, resources)
+        eventDriven.setEventDriven(true)
+
+        when:
+        def expected = fixed.create(groups)
+        def result = eventDriven.create(groups)
+
+        then:
+        result == expected
+
+        where:
+        resolution << [0.1f, (float) (1 / 3), 0.05f]
+    }
+
+    @Unroll
+    def "shall finish in the exact number of frames for non-terminating rates - #size at #rate, event-driven: #eventDriven"() {
+        given:
+        def item = new Item('item', new Item.Parameters('name', size, 1))
+        def resource = new ProjectResource('resource', new CapacityCalculator([new StaticCapacityProvider(rate)]), [])
+        def cut = new TimelineFactory(1, [resource])
+        cut.setEventDriven(eventDriven)
+
+        when:
+        def result = cut.create([[item]])
+
+        then:
+        result.size() == expected
+
+        where:
+        size | rate             | eventDriven | expected
+        1    | (float) (1 / 3)  | false       | 3
+        1    | (float) (1 / 3)  | true        | 3
+        1    | (float) (1 / 7)  | false       | 7
+        1    | (float) (1 / 7)  | true        | 7
+        100  | (float) (1 / 3)  | false       | 300
+        100  | (float) (1 / 3)  | true        | 300
+        100  | (float) (1 / 7)  | false       | 700
+        100  | (float) (1 / 7)  | true        | 700
+    }
+
+    def "event-driven mode shall throw when no resource available over defined time"() {
+        given:
+        def item = new Item('item', new Item.Parameters('name', 1, 1))
+        def capacityCalculator = Mock(CapacityCalculator) {
+            calculate(item) >> 1.0f
+        }
+        def resource = new ProjectResource('resource', capacityCalculator, [new Pair<Float, Float>(0.0f, 50.0f)])
+        def cut = new TimelineFactory(0.01f, [resource])
+        cut.setMaxInactivity(2.0f)
+        cut.setEventDriven(true)
+
+        when:
+        cut.create([[item]])
+
+        then:
+        thrown(TimelineFactory.ExceededMaxInactivityException)
+    }
+
+    def "event-driven mode shall push steady frames to the sink at once"() {
+        given:
+        def item = new Item('item', new Item.Parameters('name', 10, 1))
+        def cut = new TimelineFactory(1, [resource1])
+        cut.setEventDriven(true)
+        def frames = []
+
+        when:
+        cut.create([[item]], { workPackages, count -> frames << count } as TimelineSink)
+
+        then:
+        frames.sum() == 10
+        frames.size() < 10
+    }
+
+    def "dispatch plan shall reorder items and prefer resources"() {
+        given:
+        def item1 = new Item('item1', new Item.Parameters('name', 1, 1))
+        def item2 = new Item('item2', new Item.Parameters('name', 1, 1))
+        def cut = new TimelineFactory(1, [resource1, resource2])
+        cut.setDispatchPlan(DispatchPlan.DEFAULT
+                .withPriority(item2, 10.0f)
+                .withPreferredResource(item2, resource2)
+                .withPreferredResource(item1, resource2))
+
+        when:
+        def result = cut.create([[item1, item2]])
+
+        then:
+        result.size() == 1
+        result[0] as Set == [new WorkPackage(resource2, item2, 1.0f), new WorkPackage(resource1, item1, 1.0f)] as Set
+    }
+
 }
@@ -0,0 +1,27 @@
+package scheduler.capacity
+
+import scheduler.Item
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CapacityTableTest extends Specification {
+
+    @Unroll
+    def "shall find every capacity despite collisions - #count items"() {
+        given:
+        def items = (0..<count).collect { new Item("id$it", new Item.Parameters('name', 1, 1)) }
+        def capacities = new IdentityHashMap<Item, Float>()
+        items.eachWithIndex { item, i -> if (i % 3 != 0) capacities.put(item, (float) i) }
+        def cut = new CapacityTable(items as Set, capacities)
+
+        expect:
+        items.withIndex().every { item, i -> cut.get(item) == (i % 3 != 0 ? (float) i : 0.0f) }
+        cut.covers(items[0])
+        !cut.covers(new Item('other', new Item.Parameters('name', 1, 1)))
+        cut.get(new Item('other', new Item.Parameters('name', 1, 1))) == 0.0f
+
+        where:
+        count << [1, 2, 3, 5, 64, 1000]
+    }
+
+}
@@ -0,0 +1,89 @@
+package scheduler.capacity
+
+import scheduler.Item
+import spock.lang.Specification
+
+class SkillMatcherTest extends Specification {
+
+    def cut = new SkillMatcher()
+
+    def "shall match overlapping patterns"() {
+        given:
+        def patterns = ["he", "she", "his", "hers", "s"].collect { cut.register(it) }
+
+        expect:
+        patterns.findAll { cut.matches(name, it) } == expected
+
+        where:
+        name      | expected
+        "ushers"  | [0, 1, 3, 4]
+        "history" | [2, 4]
+        "hhe"     | [0]
+        ""        | []
+    }
+
+    def "shall give one index per distinct pattern"() {
+        expect:
+        cut.register("skill") == 0
+        cut.register("other") == 1
+        cut.register("skill") == 0
+    }
+
+    def "shall agree with String.contains for many patterns"() {
+        given:
+        def random = new Random(11)
+        def alphabet = "abc [x]"
+        def randomString = { int length -> (1..length).collect { alphabet[random.nextInt(alphabet.length())] }.join("") }
+        def patterns = (1..150).collect { randomString(1 + random.nextInt(4)) }
+        def indexes = patterns.collect { cut.register(it) }
+        def names = (1..200).collect { randomString(random.nextInt(20)) }
+
+        expect:
+        names.every { name ->
+            (0..<patterns.size()).every { cut.matches(name, indexes[it]) == name.contains(patterns[it]) }
+        }
+    }
+
+    def "shall recompile when a pattern is registered after matching"() {
+        given:
+        def first = cut.register("abc")
+        cut.matches("xabcx", first)
+
+        when:
+        def second = cut.register("bcx")
+
+        then:
+        cut.matches("xabcx", first)
+        cut.matches("xabcx", second)
+    }
+
+    def "shall compute masks only for the names of the given item set"() {
+        given:
+        def pattern = cut.register("java")
+        def items = ['java', 'sql', 'java'].withIndex().collect { name, i -> new Item("id$i", new Item.Parameters(name, 1, 1)) } as Set
+
+        when:
+        def masks = cut.getMasks(items)
+
+        then:
+        masks.keySet() == ['java', 'sql'] as Set
+        masks['java'][0] == 1L << pattern
+        masks['sql'][0] == 0L
+        cut.getMasks(items).is(masks)
+        !cut.getMasks(new HashSet<>(items)).is(masks)
+    }
+
+    def "shall recompute masks when a pattern is registered later"() {
+        given:
+        def items = [new Item('id', new Item.Parameters('sql', 1, 1))] as Set
+        def masks = cut.getMasks(items)
+
+        when:
+        def pattern = cut.register("sql")
+
+        then:
+        !cut.getMasks(items).is(masks)
+        cut.getMasks(items)['sql'][0] == 1L << pattern
+    }
+
+}
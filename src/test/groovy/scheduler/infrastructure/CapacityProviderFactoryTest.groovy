@@ -1,5 +1,6 @@
 package scheduler.infrastructure
 
+import scheduler.Item
 import scheduler.capacity.InGroupProvider
 import scheduler.capacity.NameContainsProvider
 import scheduler.capacity.NameNotContainsProvider
@@ -115,4 +116,24 @@ class CapacityProviderFactoryTest extends Specification {
         "  In  GrOuP  nOT  CoNtaining   'aBC deF  ' " | "'aBC deF  '" | 3.5f
     }
 
+    def "shall resolve name rules through a shared matcher"() {
+        given:
+        def providers = [cut.create("containing [a]", 1.0f),
+                         cut.create("not containing [b]", 2.0f),
+                         cut.create("in group containing Group", 3.0f)]
+        def group = new Item("group", new Item.Parameters("Group one", null, null))
+        def item = new Item("item", new Item.Parameters(name, 1.0f, 1))
+        group.addChild(item)
+
+        expect:
+        providers.collect { it.provide(item) } == expected
+
+        where:
+        name           | expected
+        "Task [a]"     | [1.0f, 2.0f, 3.0f]
+        "Task [a][b]"  | [1.0f, 0.0f, 3.0f]
+        "Task [b]"     | [0.0f, 0.0f, 3.0f]
+        "Group [c]"    | [0.0f, 2.0f, 3.0f]
+    }
+
 }
@@ -20,4 +20,37 @@ class CsvMatrixReaderTest extends Specification {
         ]
     }
 
+    def "shall stream rows through a cursor"() {
+        given:
+        def cut = new CsvMatrixReader(new StringReader("a1,a2\n,b2,b3\n"))
+
+        when:
+        def cursor = cut.open()
+
+        then:
+        cursor.next()
+        cursor.size() == 2
+        cursor.get(0) == "a1"
+        cursor.get(1) == "a2"
+        cursor.next()
+        cursor.getRow() == ["", "b2", "b3"]
+        !cursor.next()
+    }
+
+    def "shall open a list backed cursor for a non-streaming reader"() {
+        given:
+        def reader = Mock(MatrixReader)
+        reader.read() >> [["a1"], ["b1", "b2"]]
+
+        when:
+        def cursor = MatrixCursor.open(reader)
+
+        then:
+        cursor.next()
+        cursor.getRow() == ["a1"]
+        cursor.next()
+        cursor.get(1) == "b2"
+        !cursor.next()
+    }
+
 }
@@ -0,0 +1,92 @@
+package scheduler.infrastructure
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ExcelMatrixWriterTest extends Specification {
+
+    Path path = Files.createTempFile("matrix", ".xlsx")
+
+    def cleanup() {
+        Files.deleteIfExists(path)
+    }
+
+    private List<List<String>> readBack(String sheet) {
+        def workbook = new XSSFWorkbook(Files.newInputStream(path))
+        try {
+            def result = []
+            for (def row : workbook.getSheet(sheet)) {
+                while (result.size() < row.rowNum)
+                    result << []
+                result << row.collect { it.stringCellValue }
+            }
+            return result
+        }
+        finally {
+            workbook.close()
+        }
+    }
+
+    private static List<List<String>> matrix(int rows) {
+        return (0..<rows).collect { r -> (0..<5).collect { c -> "r${r}c${c}".toString() } }
+    }
+
+    def "shall write sections in both modes alike"() {
+        given:
+        def buffered = new ExcelMatrixWriter(path)
+        buffered.addSection("Results", "First", matrix(3))
+        buffered.addSection("Results", "Second", [["a", "b"]])
+        buffered.write()
+        def expected = readBack("Results")
+        def streaming = ExcelMatrixWriter.streaming(path, 2)
+
+        when:
+        streaming.addSection("Results", "First", matrix(3))
+        def section = streaming.openSection("Results", "Second")
+        section.addRow(["a", "b"])
+        streaming.write()
+
+        then:
+        readBack("Results") == expected
+        expected == [["First"]] + matrix(3) + [[], ["Second"], ["a", "b"], []]
+    }
+
+    def "shall stream rows beyond the window with a shared style and estimated widths"() {
+        given:
+        def cut = ExcelMatrixWriter.streaming(path, 10)
+        def section = cut.openSection("Results", "Title")
+
+        when:
+        matrix(1000).each { section.addRow(it) }
+        cut.write()
+
+        then:
+        def rows = readBack("Results")
+        rows.size() == 1002
+        rows[1000] == ["r999c0", "r999c1", "r999c2", "r999c3", "r999c4"]
+        def workbook = new XSSFWorkbook(Files.newInputStream(path))
+        workbook.numCellStyles <= 2
+        workbook.getSheet("Results").getColumnWidth(1) < workbook.getSheet("Results").getColumnWidth(5)
+        workbook.close()
+    }
+
+    def "shall share one style and font across sheets without streaming"() {
+        given:
+        def cut = new ExcelMatrixWriter(path)
+        cut.addSection("First", "Title", matrix(100))
+        cut.addSection("Second", "Title", matrix(100))
+
+        when:
+        cut.write()
+
+        then:
+        def workbook = new XSSFWorkbook(Files.newInputStream(path))
+        workbook.numCellStyles <= 2
+        workbook.numberOfFonts <= 2
+        workbook.close()
+    }
+
+}
@@ -0,0 +1,160 @@
+package scheduler.infrastructure
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class MappedCsvMatrixReaderTest extends Specification {
+
+    List<Path> files = []
+
+    def cleanup() {
+        files.each { Files.deleteIfExists(it) }
+    }
+
+    private Path write(String content) {
+        def path = Files.createTempFile("matrix", ".csv")
+        files << path
+        path.write(content, "UTF-8")
+        return path
+    }
+
+    def "read"() {
+        given:
+        def cut = new MappedCsvMatrixReader(Paths.get(getClass().getClassLoader().getResource("test.csv").toURI()))
+
+        when:
+        def result = cut.read()
+
+        then:
+        result == [
+                ["a1", "a2", "", "a4"],
+                ["", "b2", "b3", ""],
+                ["c1", "c2", "c3", "c4"]
+        ]
+    }
+
+    def "shall read the same matrix as the commons-csv reader"() {
+        given:
+        def path = write(content)
+
+        expect:
+        new MappedCsvMatrixReader(path).read() == new CsvMatrixReader(new StringReader(content)).read()
+
+        where:
+        content << [
+                "",
+                "a,b\r\nc,d\r\n",
+                "a,b\nc,d",
+                "a,\"b,c\",\"d\"\"e\"\r\n\"multi\nline\",,\"\"\n",
+                "\n\nx\n",
+                "zażółć,\"gęślą\"\n"
+        ]
+    }
+
+    def "shall match synthetic input parsed by commons-csv"() {
+        given:
+        def generator = new SyntheticInputGenerator()
+        generator.setItemCount(500)
+        generator.setSeed(7)
+        def writer = new StringWriter()
+        generator.writeItems(writer)
+        def path = write(writer.toString())
+
+        expect:
+        new MappedCsvMatrixReader(path).read() == new CsvMatrixReader(new StringReader(writer.toString())).read()
+    }
+
+    def "shall parse numbers like the standard library"() {
+        given:
+        def cut = new MappedCsvMatrixReader(write(values.join(",")))
+        def cursor = cut.open()
+
+        when:
+        cursor.next()
+
+        then:
+        (0..<values.size()).every { cursor.getFloat(it) == Float.parseFloat(values[it]) }
+
+        where:
+        values << [
+                ["0", "1", "-3", "0.5", "12.25", "0.1", "-0.0", ".5", "7."],
+                ["16777215", "16777217", "123456789.123", "0.00000000001", "1e3", " 2.5 ", "3.4028235e38"]
+        ]
+    }
+
+    def "shall parse integers like the standard library"() {
+        given:
+        def values = ["0", "7", "-12", "123456789", "2147483647", "-2147483648"]
+        def cursor = new MappedCsvMatrixReader(write(values.join(","))).open()
+
+        when:
+        cursor.next()
+
+        then:
+        (0..<values.size()).every { cursor.getInt(it) == Integer.parseInt(values[it]) }
+    }
+
+    def "shall reject malformed numbers"() {
+        given:
+        def cursor = new MappedCsvMatrixReader(write("x,,-,1.2.3,2147483648")).open()
+        cursor.next()
+
+        when:
+        cursor.getFloat(column)
+
+        then:
+        thrown(NumberFormatException)
+
+        where:
+        column << [0, 1, 2, 3]
+    }
+
+    def "shall report emptiness without materializing cells"() {
+        given:
+        def cursor = new MappedCsvMatrixReader(write("a,,\"\", ")).open()
+
+        when:
+        cursor.next()
+
+        then:
+        !cursor.isEmpty(0)
+        cursor.isEmpty(1)
+        cursor.isEmpty(2)
+        !cursor.isEmpty(3)
+    }
+
+    def "shall throw when characters follow a closing quote"() {
+        given:
+        def cut = new MappedCsvMatrixReader(write("\"a\"b,c\n"))
+
+        when:
+        cut.read()
+
+        then:
+        thrown(MappedCsvMatrixReader.MalformedCsvException)
+    }
+
+    def "shall split at rows accepted by the predicate"() {
+        given:
+        def content = (1..50).collect { "id$it,\"a\nb\"\n,x\r\n" }.join("")
+        def cut = new MappedCsvMatrixReader(write(content))
+
+        when:
+        def chunks = cut.open(5, { it.get(0).startsWith("id") })
+        def rows = chunks.collect { chunk ->
+            def result = []
+            while (chunk.next())
+                result << chunk.getRow()
+            result
+        }
+
+        then:
+        chunks.size() == 5
+        rows.every { it[0][0].startsWith("id") }
+        rows.sum() == cut.read()
+    }
+
+}
@@ -1,7 +1,11 @@
 package scheduler.infrastructure
 
+import scheduler.Ticks
 import spock.lang.Specification
 
+import java.nio.file.Files
+import java.util.concurrent.Executors
+
 class MatrixInterruptionsFactoryTest extends Specification {
 
     def reader = Mock(MatrixReader)
@@ -103,22 +107,69 @@ class MatrixInterruptionsFactoryTest extends Specification {
 
         then:
         result.size() == 2
-        with (result['resource1'][0]) {
-            Math.abs(getKey() - 1.0f) < 0.01
-            Math.abs(getValue() - 2.5f) < 0.01
-        }
-        with (result['resource1'][1]) {
-            Math.abs(getKey() - 3.0f) < 0.01
-            Math.abs(getValue() - 4.5f) < 0.01
-        }
-        with (result['resource2'][0]) {
-            Math.abs(getKey() - 5.5f) < 0.01
-            Math.abs(getValue() - 6.0f) < 0.01
+        with (result['resource1']) {
+            size() == 2
+            getStartTick(0) == Ticks.of(1.0f)
+            getEndTick(0) == Ticks.of(2.5f)
+            getStartTick(1) == Ticks.of(3.0f)
+            getEndTick(1) == Ticks.of(4.5f)
         }
-        with (result['resource2'][1]) {
-            Math.abs(getKey() - 7.5f) < 0.01
-            Math.abs(getValue() - 8.0f) < 0.01
+        with (result['resource2']) {
+            size() == 2
+            getStartTick(0) == Ticks.of(5.5f)
+            getEndTick(0) == Ticks.of(6.0f)
+            getStartTick(1) == Ticks.of(7.5f)
+            getEndTick(1) == Ticks.of(8.0f)
         }
     }
 
+    def "shall parse chunks in parallel as it would be parsed sequentially"() {
+        given:
+        def generator = new SyntheticInputGenerator()
+        generator.setResourceCount(200)
+        generator.setInterruptionDensity(0.3f)
+        def writer = new StringWriter()
+        generator.writeInterruptions(writer)
+        def path = Files.createTempFile("interruptions", ".csv")
+        path.write(writer.toString())
+        def executor = Executors.newFixedThreadPool(4)
+        def parallel = new MatrixInterruptionsFactory(new MappedCsvMatrixReader(path))
+        parallel.setExecutor(executor)
+        parallel.setChunks(8)
+
+        when:
+        def result = parallel.create()
+
+        then:
+        result.size() == 200
+        result == new MatrixInterruptionsFactory(new CsvMatrixReader(new StringReader(writer.toString()))).create()
+
+        cleanup:
+        executor.shutdownNow()
+        Files.deleteIfExists(path)
+    }
+
+    def "shall throw when id is duplicated across chunks"() {
+        given:
+        def rows = (1..100).collect { "resource$it,1,2\n,3,4\n" }
+        rows << "resource1,5,6\n"
+        def path = Files.createTempFile("interruptions", ".csv")
+        path.write(rows.join(""))
+        def executor = Executors.newFixedThreadPool(4)
+        def parallel = new MatrixInterruptionsFactory(new MappedCsvMatrixReader(path))
+        parallel.setExecutor(executor)
+        parallel.setChunks(4)
+
+        when:
+        parallel.create()
+
+        then:
+        def e = thrown(DuplicationException)
+        e.message == "resource1"
+
+        cleanup:
+        executor.shutdownNow()
+        Files.deleteIfExists(path)
+    }
+
 }
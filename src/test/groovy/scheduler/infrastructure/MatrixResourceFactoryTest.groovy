@@ -1,9 +1,13 @@
 package scheduler.infrastructure
 
 import javafx.util.Pair
+import scheduler.Interruptions
 import scheduler.capacity.CapacityProvider
 import spock.lang.Specification
 
+import java.nio.file.Files
+import java.util.concurrent.Executors
+
 class MatrixResourceFactoryTest extends Specification {
 
     def reader = Mock(MatrixReader)
@@ -68,7 +72,7 @@ class MatrixResourceFactoryTest extends Specification {
 
     def "shall create a list of resources using an interruption provider and a capacity creator"() {
         given:
-        Map<String, List<Pair<Float, Float>>> globalInterruptions = [resource2: [new Pair<>(0.5f, 1.0f), new Pair<>(2.0f, 30.0f)]]
+        Map<String, Interruptions> globalInterruptions = [resource2: Interruptions.of([new Pair<>(0.5f, 1.0f), new Pair<>(2.0f, 30.0f)])]
         def capacityProvider1 = Mock(CapacityProvider)
         def capacityProvider2 = Mock(CapacityProvider)
         reader.read() >> [["resource1", "capacityOne", "1.0"],
@@ -138,4 +142,44 @@ class MatrixResourceFactoryTest extends Specification {
         }
     }
 
+    def "shall create resources from a streaming reader"() {
+        given:
+        def capacityProvider = Mock(CapacityProvider)
+        capacityProviderFactory.create(_, _) >> capacityProvider
+        def streamingCut = new MatrixResourceFactory(
+                new CsvMatrixReader(new StringReader("resource1,skill,1.0\n,other,0.5\nresource2,skill,2\n")),
+                capacityProviderFactory, interruptionsFactory)
+
+        when:
+        def result = streamingCut.create()
+
+        then:
+        result*.id == ["resource1", "resource2"]
+        result[0].capacityCalculator.providers.size() == 2
+        result[1].capacityCalculator.providers.size() == 1
+    }
+
+    def "shall keep resource order when parsing chunks in parallel"() {
+        given:
+        def rows = (1..300).collect { "resource$it,skill$it,1\n,other,0.5\n" }
+        def path = Files.createTempFile("resources", ".csv")
+        path.write(rows.join(""))
+        def executor = Executors.newFixedThreadPool(4)
+        def parallel = new MatrixResourceFactory(new MappedCsvMatrixReader(path), capacityProviderFactory, interruptionsFactory)
+        parallel.setExecutor(executor)
+        parallel.setChunks(6)
+
+        when:
+        def result = parallel.create()
+
+        then:
+        600 * capacityProviderFactory.create(_, _) >> Mock(CapacityProvider)
+        result*.id == (1..300).collect { "resource$it" }
+        result.every { it.capacityCalculator.providers.size() == 2 }
+
+        cleanup:
+        executor.shutdownNow()
+        Files.deleteIfExists(path)
+    }
+
 }
@@ -0,0 +1,115 @@
+package scheduler.infrastructure
+
+import scheduler.ProjectLengthCostCalculator
+import scheduler.ScheduleCreator
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ModelSnapshotTest extends Specification {
+
+    Path directory = Files.createTempDirectory("snapshot")
+
+    def cleanup() {
+        directory.toFile().deleteDir()
+    }
+
+    private Path[] generateInputs() {
+        def generator = new SyntheticInputGenerator()
+        generator.setItemCount(300)
+        generator.setSeed(3)
+        generator.write(directory)
+        return [SyntheticInputGenerator.ITEMS_FILE, SyntheticInputGenerator.RESOURCES_FILE, SyntheticInputGenerator.INTERRUPTIONS_FILE]
+                .collect { directory.resolve(it) } as Path[]
+    }
+
+    private static CompiledModel compile(Path[] inputs) {
+        def itemFactory = new MatrixItemFactory(new MappedCsvMatrixReader(inputs[0]))
+        itemFactory.setFrozen(true)
+        def resourceFactory = new MatrixResourceFactory(
+                new MappedCsvMatrixReader(inputs[1]),
+                new CapacityProviderFactory(),
+                new MatrixInterruptionsFactory(new MappedCsvMatrixReader(inputs[2])))
+        return CompiledModel.compile(itemFactory.create(), resourceFactory.create())
+    }
+
+    def "shall restore the compiled model"() {
+        given:
+        def inputs = generateInputs()
+        def hash = ModelSnapshot.hash(inputs)
+        def snapshot = directory.resolve("model.snapshot")
+        def model = compile(inputs)
+
+        when:
+        ModelSnapshot.write(snapshot, hash, model)
+        def result = ModelSnapshot.read(snapshot, hash)
+
+        then:
+        result.items.keySet() == model.items.keySet()
+        result.items.every { id, item ->
+            def original = model.items[id]
+            item.parameters == original.parameters &&
+                    item.parent?.id == original.parent?.id &&
+                    item.children*.id == original.children*.id &&
+                    item.dependencies*.id == original.dependencies*.id &&
+                    item.impacted*.id == original.impacted*.id &&
+                    item.frozen
+        }
+        result.prioritizedItems.collect { it*.id } == model.prioritizedItems.collect { it*.id }
+        result.resources*.id == model.resources*.id
+        (0..<model.resources.size()).every { i ->
+            result.resources[i].interruptions == model.resources[i].interruptions &&
+                    model.items.every { id, item -> result.resources[i].getRate(result.items[id]) == model.resources[i].getRate(item) }
+        }
+    }
+
+    def "shall schedule a restored model as the compiled one"() {
+        given:
+        def inputs = generateInputs()
+        def hash = ModelSnapshot.hash(inputs)
+        def snapshot = directory.resolve("model.snapshot")
+        def model = compile(inputs)
+        ModelSnapshot.write(snapshot, hash, model)
+        def restored = ModelSnapshot.read(snapshot, hash)
+
+        when:
+        def expected = ScheduleCreator.ofPrioritized(model.prioritizedItems, new ProjectLengthCostCalculator()).create(model.resources)
+        def result = ScheduleCreator.ofPrioritized(restored.prioritizedItems, new ProjectLengthCostCalculator()).create(restored.resources)
+
+        then:
+        result.totalCost == expected.totalCost
+        result.itemSchedule.collectEntries { item, frames -> [(item.id): frames*.id] } ==
+                expected.itemSchedule.collectEntries { item, frames -> [(item.id): frames*.id] }
+    }
+
+    def "shall ignore a snapshot of different inputs"() {
+        given:
+        def inputs = generateInputs()
+        def snapshot = directory.resolve("model.snapshot")
+        ModelSnapshot.write(snapshot, ModelSnapshot.hash(inputs), compile(inputs))
+        inputs[0].append("\n")
+
+        expect:
+        ModelSnapshot.read(snapshot, ModelSnapshot.hash(inputs)) == null
+    }
+
+    def "shall ignore a missing or truncated snapshot"() {
+        given:
+        def inputs = generateInputs()
+        def hash = ModelSnapshot.hash(inputs)
+        def snapshot = directory.resolve("model.snapshot")
+
+        expect:
+        ModelSnapshot.read(snapshot, hash) == null
+
+        when:
+        ModelSnapshot.write(snapshot, hash, compile(inputs))
+        def bytes = Files.readAllBytes(snapshot)
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length.intdiv(2)))
+
+        then:
+        ModelSnapshot.read(snapshot, hash) == null
+    }
+
+}
@@ -0,0 +1,93 @@
+package scheduler.infrastructure
+
+import scheduler.*
+import scheduler.capacity.CapacityCalculator
+import spock.lang.Specification
+
+class ScheduleRecordWriterTest extends Specification {
+
+    def item1 = new Item("item1", new Item.Parameters("Task \"one\"", 4.0f, 1))
+    def item2 = new Item("item2", new Item.Parameters("Task two", 2.0f, 1))
+    def resource1 = new ProjectResource("resource1", new CapacityCalculator(), [])
+    def resource2 = new ProjectResource("resource2", new CapacityCalculator(), [])
+
+    private static List<List<String>> parse(String csv) {
+        return new CsvMatrixReader(new StringReader(csv)).read()
+    }
+
+    private void feed(ScheduleRecordWriter cut) {
+        cut.accept([new WorkPackage(resource1, item1, 1.0f), new WorkPackage(resource2, item2, 0.5f)], 1)
+        cut.accept([new WorkPackage(resource1, item1, 1.0f), new WorkPackage(resource2, item2, 0.5f)], 2)
+        cut.accept([new WorkPackage(resource2, item2, 0.5f)], 1)
+        cut.accept([new WorkPackage(resource1, item1, 1.0f)], 1)
+        cut.close()
+    }
+
+    def "shall write an interval for every continuous run"() {
+        given:
+        def writer = new StringWriter()
+        def cut = new CsvScheduleWriter(writer, Ticks.of(1.0f))
+
+        when:
+        feed(cut)
+
+        then:
+        parse(writer.toString()) == [
+                ["item", "resource", "start", "end", "work done"],
+                ["item1", "resource1", "0.0", "3.0", "3.0"],
+                ["item2", "resource2", "0.0", "4.0", "2.0"],
+                ["item1", "resource1", "4.0", "5.0", "1.0"]
+        ]
+    }
+
+    def "shall aggregate runs into time buckets"() {
+        given:
+        def writer = new StringWriter()
+        def cut = new CsvScheduleWriter(writer, Ticks.of(1.0f))
+        cut.setBucket(2.0f)
+
+        when:
+        feed(cut)
+
+        then:
+        parse(writer.toString()) == [
+                ["item", "resource", "start", "end", "work done"],
+                ["item1", "resource1", "0.0", "2.0", "2.0"],
+                ["item2", "resource2", "0.0", "2.0", "1.0"],
+                ["item1", "resource1", "2.0", "3.0", "1.0"],
+                ["item2", "resource2", "2.0", "4.0", "1.0"],
+                ["item1", "resource1", "4.0", "5.0", "1.0"]
+        ]
+    }
+
+    def "shall write escaped newline delimited json"() {
+        given:
+        def quoted = new Item("a \"quoted\" \\ id\n", new Item.Parameters("name", 1.0f, 1))
+        def writer = new StringWriter()
+        def cut = new NdjsonScheduleWriter(writer, Ticks.of(0.5f))
+
+        when:
+        cut.accept([new WorkPackage(resource1, quoted, 0.5f)], 2)
+        cut.close()
+
+        then:
+        writer.toString() == '{"item":"a \\"quoted\\" \\\\ id\\u000a","resource":"resource1","start":0.0,"end":1.0,"workDone":1.0}\n'
+    }
+
+    def "shall record all the work done by a schedule"() {
+        given:
+        item2.addDependency(item1)
+        def scheduleCreator = new ScheduleCreator([item1, item2], new ProjectLengthCostCalculator())
+        def writer = new StringWriter()
+        def cut = new CsvScheduleWriter(writer, scheduleCreator.resolutionTicks)
+
+        when:
+        scheduleCreator.create([resource1, resource2], DispatchPlan.DEFAULT, cut)
+        cut.close()
+
+        then:
+        def records = parse(writer.toString()).drop(1)
+        records.groupBy { it[0] }.collectEntries { id, rows -> [(id): rows.sum { it[4] as float }] } == [item1: 4.0f, item2: 2.0f]
+    }
+
+}
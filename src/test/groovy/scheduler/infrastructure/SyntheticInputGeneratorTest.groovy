@@ -0,0 +1,103 @@
+package scheduler.infrastructure
+
+import scheduler.ProjectLengthCostCalculator
+import scheduler.ScheduleCreator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SyntheticInputGeneratorTest extends Specification {
+
+    def cut = new SyntheticInputGenerator()
+
+    def setup() {
+        cut.setSeed(7)
+        cut.setItemCount(300)
+        cut.setMaxDepth(4)
+        cut.setFanOut(3)
+        cut.setDependencyDensity(1.0f)
+        cut.setDependencyWindow(50)
+        cut.setResourceCount(6)
+        cut.setSkills(8)
+        cut.setHorizon(200.0f)
+    }
+
+    String generate(Closure writer) {
+        def result = new StringWriter()
+        writer(result)
+        return result.toString()
+    }
+
+    def "shall generate inputs accepted by the factories"() {
+        given:
+        def pbs = generate(cut.&writeItems)
+        def resources = generate(cut.&writeResources)
+        def interruptions = generate(cut.&writeInterruptions)
+
+        when:
+        def items = new MatrixItemFactory(new CsvMatrixReader(new StringReader(pbs))).create()
+        def interruptionsFactory = new MatrixInterruptionsFactory(new CsvMatrixReader(new StringReader(interruptions)))
+        def projectResources = new MatrixResourceFactory(new CsvMatrixReader(new StringReader(resources)), new CapacityProviderFactory(), interruptionsFactory).create()
+
+        then:
+        items.size() == 301
+        projectResources.size() == 6
+        items.values().any { !it.dependencies.isEmpty() }
+        items.values().any { it.parent != null && it.parent.id != '__root__' }
+        new MatrixInterruptionsFactory(new CsvMatrixReader(new StringReader(interruptions))).create().size() == 6
+    }
+
+    def "generated project shall be schedulable"() {
+        given:
+        def items = new MatrixItemFactory(new CsvMatrixReader(new StringReader(generate(cut.&writeItems)))).create()
+        def interruptionsFactory = new MatrixInterruptionsFactory(new CsvMatrixReader(new StringReader(generate(cut.&writeInterruptions))))
+        def resources = new MatrixResourceFactory(new CsvMatrixReader(new StringReader(generate(cut.&writeResources))), new CapacityProviderFactory(), interruptionsFactory).create()
+
+        when:
+        def schedule = new ScheduleCreator(items.values(), new ProjectLengthCostCalculator()).create(resources)
+
+        then:
+        schedule.totalCost > 0
+    }
+
+    def "shall generate the same inputs for the same seed"() {
+        given:
+        def generators = [7, 7, 8].collect { seed ->
+            def generator = new SyntheticInputGenerator()
+            generator.setSeed(seed)
+            generator
+        }
+
+        expect:
+        ['writeItems', 'writeResources', 'writeInterruptions'].every { method ->
+            def outputs = generators.collect { generator -> generate(generator.&"$method") }
+            outputs[0] == outputs[1] && outputs[0] != outputs[2]
+        }
+    }
+
+    def "shall write the three input files"() {
+        given:
+        def directory = File.createTempDir()
+
+        when:
+        cut.write(directory.toPath())
+
+        then:
+        ['pbs.csv', 'resources.csv', 'interruptions.csv'].every { new File(directory, it).length() > 0 }
+
+        cleanup:
+        directory.deleteDir()
+    }
+
+    @Unroll
+    def "shall reject interruption density outside of the open unit interval - #density"() {
+        when:
+        cut.setInterruptionDensity(density)
+
+        then:
+        thrown(SyntheticInputGenerator.InvalidInterruptionDensityException)
+
+        where:
+        density << [0.0f, 1.0f, -0.5f, 1.5f, Float.NaN]
+    }
+
+}